@@ -1,19 +1,33 @@
 package com.marcuslull.aigmmcp.config;
 
+import com.marcuslull.aigmmcp.logging.ToolLoggingProperties;
+import com.marcuslull.aigmmcp.resources.CampaignStateResource;
+import com.marcuslull.aigmmcp.resources.GameTableResources;
+import com.marcuslull.aigmmcp.tools.campaignstate.CampaignStateService;
+import com.marcuslull.aigmmcp.tools.combatsimulator.CombatSimulatorService;
 import com.marcuslull.aigmmcp.tools.diceroller.DiceRollerService;
+import com.marcuslull.aigmmcp.tools.monstersearch.MonsterSearchService;
 import com.marcuslull.aigmmcp.tools.randomencountergenerator.RandomEncounterGeneratorService;
 import com.marcuslull.aigmmcp.tools.treasuregenerator.TreasureGeneratorService;
+import com.marcuslull.aigmmcp.tools.weathergenerator.WeatherGeneratorService;
+import io.modelcontextprotocol.server.McpServerFeatures;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.ai.vertexai.embedding.VertexAiEmbeddingConnectionDetails;
 import org.springframework.ai.vertexai.embedding.text.VertexAiTextEmbeddingModel;
 import org.springframework.ai.vertexai.embedding.text.VertexAiTextEmbeddingOptions;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.List;
 import java.util.Random;
 
 @Configuration
+@EnableConfigurationProperties(ToolLoggingProperties.class)
+@EnableScheduling
 public class BeanStore {
 
     /**
@@ -21,12 +35,13 @@ public class BeanStore {
      * <p>
      * This bean is responsible for providing text embedding capabilities using Google's Vertex AI.
      * It is configured with specific project and location details for the Vertex AI service,
-     * and uses the default embedding model.
+     * and uses the default embedding model. The load test profile swaps this out for a local stub.
      * </p>
      *
      * @return A configured {@link VertexAiTextEmbeddingModel} instance.
      */
     @Bean
+    @Profile("!loadtest")
     public VertexAiTextEmbeddingModel vertexAiTextEmbeddingModel() {
 
         // TODO: ENV file
@@ -58,6 +73,36 @@ public class BeanStore {
         return MethodToolCallbackProvider.builder().toolObjects(randomEncounterGeneratorService).build();
     }
 
+    @Bean
+    public ToolCallbackProvider combatSimulatorTool(CombatSimulatorService combatSimulatorService) {
+        return MethodToolCallbackProvider.builder().toolObjects(combatSimulatorService).build();
+    }
+
+    @Bean
+    public ToolCallbackProvider monsterSearchTool(MonsterSearchService monsterSearchService) {
+        return MethodToolCallbackProvider.builder().toolObjects(monsterSearchService).build();
+    }
+
+    @Bean
+    public ToolCallbackProvider weatherGeneratorTool(WeatherGeneratorService weatherGeneratorService) {
+        return MethodToolCallbackProvider.builder().toolObjects(weatherGeneratorService).build();
+    }
+
+    @Bean
+    public ToolCallbackProvider campaignStateTool(CampaignStateService campaignStateService) {
+        return MethodToolCallbackProvider.builder().toolObjects(campaignStateService).build();
+    }
+
+    @Bean
+    public List<McpServerFeatures.SyncResourceSpecification> campaignStateResources(CampaignStateResource campaignStateResource) {
+        return List.of(campaignStateResource.specification());
+    }
+
+    @Bean
+    public List<McpServerFeatures.SyncResourceSpecification> gameTableResourceSpecifications(GameTableResources gameTableResources) {
+        return gameTableResources.specifications();
+    }
+
     @Bean
     public Random random() {
         return new Random();
@@ -0,0 +1,31 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+/**
+ * One entry of a campaign's change log. Which fields are used depends on the {@link CampaignEventType}:
+ * <ul>
+ *     <li>{@code SESSION_STARTED} - {@code amount} is the session number</li>
+ *     <li>{@code COMBATANT_ADDED} - {@code target} is the name, {@code amount} the current HP, plus {@code maxHp} and {@code initiative}</li>
+ *     <li>{@code HP_CHANGED} - {@code target}, {@code amount} is negative for damage and positive for healing</li>
+ *     <li>{@code CONDITION_ADDED} / {@code CONDITION_REMOVED} - {@code target} and the condition in {@code text}</li>
+ *     <li>{@code COMBATANT_REMOVED} - {@code target}</li>
+ *     <li>{@code TREASURE_AWARDED} - {@code target} is the recipient, {@code text} the treasure, {@code amount} its gp value</li>
+ *     <li>{@code COMBAT_STARTED}, {@code TURN_ADVANCED}, {@code COMBAT_ENDED} - no fields</li>
+ * </ul>
+ *
+ * @param seq per campaign sequence number, assigned when the event is applied
+ */
+public record CampaignEvent(
+        String campaignId,
+        long seq,
+        CampaignEventType type,
+        String target,
+        Integer amount,
+        Integer maxHp,
+        Integer initiative,
+        String text
+) {
+
+    CampaignEvent withSeq(long seq) {
+        return new CampaignEvent(campaignId, seq, type, target, amount, maxHp, initiative, text);
+    }
+}
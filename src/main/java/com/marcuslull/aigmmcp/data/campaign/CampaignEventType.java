@@ -0,0 +1,24 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public enum CampaignEventType {
+    SESSION_STARTED,
+    COMBAT_STARTED,
+    COMBATANT_ADDED,
+    HP_CHANGED,
+    CONDITION_ADDED,
+    CONDITION_REMOVED,
+    COMBATANT_REMOVED,
+    TURN_ADVANCED,
+    COMBAT_ENDED,
+    TREASURE_AWARDED;
+
+    public static CampaignEventType fromString(String typeString) {
+        return Arrays.stream(values())
+                .filter(t -> t.name().equals(Objects.requireNonNull(typeString).toUpperCase()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,175 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+import java.util.*;
+
+/**
+ * Mutable state of one campaign. Every change goes through {@link #apply(CampaignEvent)} under this object's lock,
+ * both live and when replaying the change log after a restart, so the two can't drift apart. After each change an
+ * immutable {@link CampaignStateView} is published, which readers pick up without taking the lock.
+ */
+class CampaignState {
+
+    private static final Comparator<Combatant> INITIATIVE_ORDER =
+            Comparator.comparingInt(Combatant::initiative).reversed().thenComparing(Combatant::name);
+
+    private final String campaignId;
+    private final Map<String, Combatant> combatants = new HashMap<>();
+    private final List<TreasureAward> treasure = new ArrayList<>();
+    private long version;
+    private Integer session;
+    private boolean inCombat;
+    private int round;
+    private String currentTurn;
+
+    private volatile CampaignStateView view;
+
+
+    CampaignState(String campaignId) {
+        this.campaignId = campaignId;
+        publish();
+    }
+
+
+    // recovery - starts from a snapshot, the change log is replayed on top of it
+    static CampaignState fromView(CampaignStateView snapshot) {
+        CampaignState state = new CampaignState(snapshot.campaignId());
+        snapshot.initiativeOrder().forEach(c -> state.combatants.put(c.name(), c));
+        state.treasure.addAll(snapshot.treasure());
+        state.version = snapshot.version();
+        state.session = snapshot.session();
+        state.inCombat = snapshot.inCombat();
+        state.round = snapshot.round();
+        state.currentTurn = snapshot.currentTurn();
+        state.publish();
+        return state;
+    }
+
+
+    CampaignStateView view() {
+        return view;
+    }
+
+
+    /**
+     * Checks that an event can be applied to the current state.
+     *
+     * @return an error message for the model, or null when the event is valid
+     */
+    synchronized String validate(CampaignEvent event) {
+
+        if (event.type() == null) return "A change type is required";
+
+        boolean needsTarget = switch (event.type()) {
+            case COMBATANT_ADDED, HP_CHANGED, CONDITION_ADDED, CONDITION_REMOVED, COMBATANT_REMOVED -> true;
+            default -> false;
+        };
+        if (needsTarget && (event.target() == null || event.target().isBlank())) {
+            return event.type() + " requires the combatant name as target";
+        }
+
+        return switch (event.type()) {
+            case SESSION_STARTED -> event.amount() == null || event.amount() < 1 ? "SESSION_STARTED requires the session number as amount" : null;
+            case COMBATANT_ADDED -> {
+                if (combatants.containsKey(event.target())) yield "Combatant already exists: " + event.target();
+                if (event.amount() == null || event.amount() < 0) yield "COMBATANT_ADDED requires the current HP as amount";
+                int maxHp = event.maxHp() != null ? event.maxHp() : event.amount();
+                yield maxHp < 1 || event.amount() > maxHp ? "COMBATANT_ADDED requires a positive maxHp of at least the current HP" : null;
+            }
+            case HP_CHANGED -> {
+                if (!combatants.containsKey(event.target())) yield "Unknown combatant: " + event.target();
+                yield event.amount() == null ? "HP_CHANGED requires amount, negative for damage and positive for healing" : null;
+            }
+            case CONDITION_ADDED, CONDITION_REMOVED -> {
+                if (!combatants.containsKey(event.target())) yield "Unknown combatant: " + event.target();
+                yield event.text() == null || event.text().isBlank() ? event.type() + " requires the condition as text" : null;
+            }
+            case COMBATANT_REMOVED -> combatants.containsKey(event.target()) ? null : "Unknown combatant: " + event.target();
+            case TURN_ADVANCED -> inCombat && !combatants.isEmpty() ? null : "There is no combat with combatants in progress";
+            case COMBAT_ENDED -> inCombat ? null : "There is no combat in progress";
+            case TREASURE_AWARDED -> event.text() == null || event.text().isBlank() ? "TREASURE_AWARDED requires the treasure as text" : null;
+            case COMBAT_STARTED -> null;
+        };
+    }
+
+
+    /**
+     * Applies a validated event and publishes a new view. Events must arrive in sequence order.
+     */
+    synchronized CampaignStateView apply(CampaignEvent event) {
+
+        switch (event.type()) {
+            case SESSION_STARTED -> session = event.amount();
+            case COMBAT_STARTED -> {
+                inCombat = true;
+                round = 1;
+                currentTurn = orderedCombatants().stream().findFirst().map(Combatant::name).orElse(null);
+            }
+            case COMBATANT_ADDED -> {
+                int maxHp = event.maxHp() != null ? event.maxHp() : event.amount();
+                int initiative = event.initiative() != null ? event.initiative() : 0;
+                combatants.put(event.target(), new Combatant(event.target(), event.amount(), maxHp, initiative, Set.of()));
+                if (inCombat && currentTurn == null) currentTurn = event.target();
+            }
+            case HP_CHANGED -> combatants.computeIfPresent(event.target(), (name, c) -> new Combatant(name,
+                    Math.clamp((long) c.hp() + event.amount(), 0, c.maxHp()), c.maxHp(), c.initiative(), c.conditions()));
+            case CONDITION_ADDED -> combatants.computeIfPresent(event.target(), (name, c) -> {
+                Set<String> conditions = new TreeSet<>(c.conditions());
+                conditions.add(event.text());
+                return new Combatant(name, c.hp(), c.maxHp(), c.initiative(), Set.copyOf(conditions));
+            });
+            case CONDITION_REMOVED -> combatants.computeIfPresent(event.target(), (name, c) -> {
+                Set<String> conditions = new TreeSet<>(c.conditions());
+                conditions.remove(event.text());
+                return new Combatant(name, c.hp(), c.maxHp(), c.initiative(), Set.copyOf(conditions));
+            });
+            case COMBATANT_REMOVED -> {
+                if (event.target().equals(currentTurn)) currentTurn = nextInOrder(event.target(), false);
+                combatants.remove(event.target());
+                if (combatants.isEmpty()) currentTurn = null;
+            }
+            case TURN_ADVANCED -> currentTurn = nextInOrder(currentTurn, true);
+            case COMBAT_ENDED -> {
+                inCombat = false;
+                round = 0;
+                currentTurn = null;
+                combatants.clear();
+            }
+            case TREASURE_AWARDED -> treasure.add(new TreasureAward(event.target(), event.text(), event.amount(), session));
+        }
+
+        version = event.seq();
+        publish();
+        return view;
+    }
+
+
+    // the combatant after {@code name} in initiative order, wrapping around to the top (and the next round if counting)
+    private String nextInOrder(String name, boolean countRounds) {
+
+        List<Combatant> ordered = orderedCombatants();
+        if (ordered.isEmpty()) return null;
+
+        int index = -1;
+        for (int i = 0; i < ordered.size(); i++) {
+            if (ordered.get(i).name().equals(name)) index = i;
+        }
+
+        int next = index + 1;
+        if (next >= ordered.size()) {
+            next = 0;
+            if (countRounds) round++;
+        }
+        return ordered.get(next).name();
+    }
+
+
+    private List<Combatant> orderedCombatants() {
+        return combatants.values().stream().sorted(INITIATIVE_ORDER).toList();
+    }
+
+
+    private void publish() {
+        view = new CampaignStateView(campaignId, version, session, inCombat, round, currentTurn,
+                orderedCombatants(), List.copyOf(treasure));
+    }
+}
@@ -0,0 +1,234 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcuslull.aigmmcp.data.structured.entities.CampaignStateChange;
+import com.marcuslull.aigmmcp.data.structured.entities.CampaignStateSnapshot;
+import com.marcuslull.aigmmcp.data.structured.repositories.CampaignStateChangeRepository;
+import com.marcuslull.aigmmcp.data.structured.repositories.CampaignStateSnapshotRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Write-behind persistence of campaign state to Postgres.
+ * <p>
+ * Applied events are queued in memory and written in batches on a fixed, short interval
+ * ({@code aigm.campaign.flush-interval}), so combat updates never wait on the database. Every
+ * {@code aigm.campaign.snapshot-every} changes a full snapshot of the campaign is written and the change log
+ * it covers is compacted. After a crash a campaign is recovered from its latest snapshot plus the changes logged
+ * after it; at most one flush interval of changes can be lost.
+ * <p>
+ * While Postgres is down changes are held back in order and the queue is bounded ({@code aigm.campaign.max-pending}).
+ * A change that can't be logged - rejected by the database or dropped from a full queue - is covered by writing a
+ * snapshot of its campaign instead, so one bad row never blocks the others.
+ * <p>
+ * When the repositories are not available (e.g. the load test profile has no database) the state stays in memory only.
+ */
+@Slf4j
+@Component
+public class CampaignStatePersistence {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final CampaignStateChangeRepository changeRepository;
+    private final CampaignStateSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+    private final int maxPending;
+
+    private final BlockingQueue<CampaignEvent> pending;
+    private final Deque<CampaignEvent> retry = new ArrayDeque<>(); // only touched by flush, under its lock
+    private final Set<String> needsSnapshot = ConcurrentHashMap.newKeySet();
+    private final Map<String, CampaignStateView> latestViews = new ConcurrentHashMap<>();
+    private final Map<String, Long> snapshotVersions = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+
+    public CampaignStatePersistence(ObjectProvider<CampaignStateChangeRepository> changeRepository,
+                                    ObjectProvider<CampaignStateSnapshotRepository> snapshotRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${aigm.campaign.snapshot-every:100}") int snapshotEvery,
+                                    @Value("${aigm.campaign.max-pending:100000}") int maxPending) {
+        this.changeRepository = changeRepository.getIfAvailable();
+        this.snapshotRepository = snapshotRepository.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = snapshotEvery;
+        this.maxPending = maxPending;
+        this.pending = new LinkedBlockingQueue<>(maxPending);
+        this.enabled = this.changeRepository != null && this.snapshotRepository != null;
+        if (!enabled) log.warn("Campaign state repositories not available, campaign state will not be persisted");
+    }
+
+
+    /**
+     * Queues an applied event for the next flush. Never blocks on the database.
+     *
+     * @param view the campaign state right after the event, kept for the next snapshot
+     */
+    void enqueue(CampaignEvent event, CampaignStateView view) {
+        if (!enabled) return;
+        latestViews.put(event.campaignId(), view);
+        if (!pending.offer(event) && needsSnapshot.add(event.campaignId())) {
+            // the snapshot covers whatever didn't fit in the queue
+            log.error("Campaign state write queue is full ({} changes), campaign {} will be snapshotted instead", maxPending, event.campaignId());
+        }
+    }
+
+
+    /**
+     * Rebuilds every persisted campaign from its latest snapshot and the change log after it.
+     *
+     * @throws IllegalStateException if the campaigns could not be read, nothing must be written before a retry succeeds
+     *                               so new changes can't collide with the sequence numbers of changes never replayed
+     */
+    List<CampaignState> recover() {
+
+        if (!enabled) return List.of();
+
+        try {
+            Set<String> campaignIds = new TreeSet<>(changeRepository.findAllCampaignIds());
+            campaignIds.addAll(snapshotRepository.findAllCampaignIds());
+
+            List<CampaignState> recovered = new ArrayList<>();
+            for (String campaignId : campaignIds) {
+                recovered.add(recoverCampaign(campaignId));
+            }
+            log.info("Recovered {} campaigns from Postgres", recovered.size());
+            return recovered;
+
+        } catch (RuntimeException | JsonProcessingException e) {
+            throw new IllegalStateException("Campaign state could not be loaded from Postgres: " + e.getMessage(), e);
+        }
+    }
+
+
+    private CampaignState recoverCampaign(String campaignId) throws JsonProcessingException {
+
+        Optional<CampaignStateSnapshot> snapshot = snapshotRepository.findFirstByCampaignIdOrderBySeqDesc(campaignId);
+        CampaignState state = snapshot.isPresent()
+                ? CampaignState.fromView(objectMapper.readValue(snapshot.get().payload(), CampaignStateView.class))
+                : new CampaignState(campaignId);
+        long fromSeq = snapshot.map(CampaignStateSnapshot::seq).orElse(0L);
+        snapshotVersions.put(campaignId, fromSeq);
+
+        List<CampaignStateChange> changes = changeRepository.findAllByCampaignIdAndSeqGreaterThanOrderBySeq(campaignId, fromSeq);
+        for (CampaignStateChange change : changes) {
+            CampaignEvent event = objectMapper.readValue(change.payload(), CampaignEvent.class);
+            String error = state.validate(event);
+            if (error != null) {
+                // should not happen, the event was valid when it was logged
+                log.warn("Skipping change {} of campaign {} during replay: {}", change.seq(), campaignId, error);
+                continue;
+            }
+            state.apply(event);
+        }
+
+        log.info("Recovered campaign {} at version {} (snapshot {} + {} changes)", campaignId, state.view().version(), fromSeq, changes.size());
+        return state;
+    }
+
+
+    @Scheduled(fixedDelayString = "${aigm.campaign.flush-interval:PT0.5S}")
+    public synchronized void flush() {
+
+        if (!enabled) return;
+
+        while (true) {
+            // changes held back by an earlier failed flush go first, so the log is always written in seq order
+            List<CampaignEvent> drained = new ArrayList<>(BATCH_SIZE);
+            while (drained.size() < BATCH_SIZE && !retry.isEmpty()) drained.add(retry.pollFirst());
+            pending.drainTo(drained, BATCH_SIZE - drained.size());
+            if (drained.isEmpty()) break;
+
+            // a snapshot must only cover a contiguous prefix of the log, so none are written while changes are held back
+            if (!write(drained)) return;
+        }
+
+        writeDueSnapshots();
+    }
+
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+
+    /**
+     * Writes a batch of changes, falling back to one row at a time when the batch is rejected.
+     * Rows the database refuses outright are dropped, and their campaign gets a snapshot instead.
+     *
+     * @return false if the database is unavailable, the unwritten changes are then held back in order for the next flush
+     */
+    private boolean write(List<CampaignEvent> drained) {
+
+        try {
+            changeRepository.saveAll(drained.stream().map(this::toChange).toList());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} campaign state changes as a batch, writing them one at a time: {}", drained.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < drained.size(); i++) {
+            CampaignEvent event = drained.get(i);
+            try {
+                changeRepository.save(toChange(event));
+            } catch (DataIntegrityViolationException | IllegalStateException e) {
+                // retrying a row the database refuses would block every campaign behind it
+                needsSnapshot.add(event.campaignId());
+                log.error("Dropping campaign state change {} of campaign {}, the campaign will be snapshotted instead: {}",
+                        event.seq(), event.campaignId(), event, e);
+            } catch (RuntimeException e) {
+                for (int j = drained.size() - 1; j >= i; j--) retry.addFirst(drained.get(j));
+                log.error("Failed to write campaign state changes, {} held back for the next flush", retry.size(), e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private void writeDueSnapshots() {
+
+        for (CampaignStateView view : latestViews.values()) {
+            long lastSnapshot = snapshotVersions.getOrDefault(view.campaignId(), 0L);
+            boolean forced = needsSnapshot.remove(view.campaignId());
+            if (!forced && view.version() - lastSnapshot < snapshotEvery) continue;
+
+            try {
+                snapshotRepository.save(new CampaignStateSnapshot(null, view.campaignId(), view.version(),
+                        objectMapper.writeValueAsString(view), Instant.now()));
+                snapshotVersions.put(view.campaignId(), view.version());
+
+                // the snapshot covers everything up to its version
+                changeRepository.deleteAllUpTo(view.campaignId(), view.version());
+                snapshotRepository.deleteAllOlderThan(view.campaignId(), view.version());
+            } catch (RuntimeException | JsonProcessingException e) {
+                if (forced) needsSnapshot.add(view.campaignId());
+                log.error("Failed to snapshot campaign {} at version {}", view.campaignId(), view.version(), e);
+            }
+        }
+    }
+
+
+    private CampaignStateChange toChange(CampaignEvent event) {
+        try {
+            return new CampaignStateChange(null, event.campaignId(), event.seq(), event.type().name(),
+                    objectMapper.writeValueAsString(event), Instant.now());
+        } catch (JsonProcessingException e) {
+            // records of strings and numbers always serialise
+            throw new IllegalStateException("Could not serialise campaign event " + event, e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory working set of every campaign's state.
+ * <p>
+ * Reads return the latest published {@link CampaignStateView} without locking. Writes lock only the campaign
+ * being changed, validate the event, apply it and hand it to {@link CampaignStatePersistence} for write-behind,
+ * so a combat update costs microseconds regardless of the database.
+ * <p>
+ * Campaigns are recovered from Postgres on the scheduler thread once the context is up, so the MCP server can answer
+ * {@code initialize} without waiting on the database. Until recovery succeeds - it is retried every
+ * {@code aigm.campaign.recovery-retry-interval} - the store refuses reads and writes with the reason, rather than
+ * handing out state that would later be overwritten or never persisted.
+ */
+@Slf4j
+@Component
+public class CampaignStateStore {
+
+    private final Map<String, CampaignState> campaigns = new ConcurrentHashMap<>();
+    private final CampaignStatePersistence persistence;
+    // null once the persisted campaigns are loaded
+    private volatile String unavailableReason = "Campaign state is still being loaded, try again in a few seconds";
+
+
+    public CampaignStateStore(CampaignStatePersistence persistence) {
+        this.persistence = persistence;
+    }
+
+
+    @Scheduled(fixedDelayString = "${aigm.campaign.recovery-retry-interval:PT5S}")
+    public synchronized void recover() {
+
+        if (unavailableReason == null) return;
+
+        try {
+            for (CampaignState state : persistence.recover()) {
+                campaigns.put(state.view().campaignId(), state);
+            }
+            unavailableReason = null;
+        } catch (IllegalStateException e) {
+            unavailableReason = e.getMessage() + ". Retrying, track the campaign in the conversation for now";
+            log.error("Campaign state recovery failed, retrying", e);
+        }
+    }
+
+
+    /**
+     * @return why campaign state can't be used right now, or null when it can
+     */
+    public String unavailableReason() {
+        return unavailableReason;
+    }
+
+
+    /**
+     * @return the current state of the campaign, or null if nothing was ever recorded for it
+     */
+    public CampaignStateView get(String campaignId) {
+        CampaignState state = campaigns.get(campaignId);
+        return state != null ? state.view() : null;
+    }
+
+
+    public Collection<CampaignStateView> getAll() {
+        return campaigns.values().stream().map(CampaignState::view).toList();
+    }
+
+
+    /**
+     * Validates and applies a batch of changes to one campaign, in order, creating the campaign once its first
+     * change is accepted. Changes before the first invalid one stay applied.
+     *
+     * @throws IllegalArgumentException with a message for the model when a change is invalid
+     * @throws IllegalStateException    when the persisted campaigns have not been loaded yet
+     */
+    public CampaignStateView apply(String campaignId, List<CampaignEvent> events) {
+
+        if (unavailableReason != null) throw new IllegalStateException(unavailableReason);
+        if (events.isEmpty()) throw new IllegalArgumentException("At least one change is required");
+
+        while (true) {
+            CampaignState existing = campaigns.get(campaignId);
+            CampaignState state = existing != null ? existing : new CampaignState(campaignId);
+
+            // the lock makes validate, sequence numbering, apply and enqueue one step
+            synchronized (state) {
+                if (existing == null) {
+                    // a rejected first change must not leave an empty campaign behind
+                    String error = state.validate(events.getFirst());
+                    if (error != null) throw rejected(0, error);
+                    // another update created the campaign first, apply on top of theirs
+                    if (campaigns.putIfAbsent(campaignId, state) != null) continue;
+                }
+
+                CampaignStateView view = state.view();
+                for (int i = 0; i < events.size(); i++) {
+                    CampaignEvent event = events.get(i);
+
+                    String error = state.validate(event);
+                    if (error != null) throw rejected(i, error);
+
+                    CampaignEvent sequenced = event.withSeq(view.version() + 1);
+                    view = state.apply(sequenced);
+                    persistence.enqueue(sequenced, view);
+                }
+                return view;
+            }
+        }
+    }
+
+
+    private IllegalArgumentException rejected(int index, String error) {
+        return new IllegalArgumentException("Change " + (index + 1) + " was rejected: " + error
+                + (index > 0 ? ". The " + index + " changes before it were applied" : ""));
+    }
+}
@@ -0,0 +1,22 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+import java.util.List;
+
+/**
+ * Immutable point-in-time copy of a campaign's state. {@code version} is the sequence number of the last
+ * change applied, so two views with the same version are identical.
+ *
+ * @param initiativeOrder combatants by initiative, highest first
+ * @param currentTurn     the name of the combatant whose turn it is, null outside combat
+ */
+public record CampaignStateView(
+        String campaignId,
+        long version,
+        Integer session,
+        boolean inCombat,
+        int round,
+        String currentTurn,
+        List<Combatant> initiativeOrder,
+        List<TreasureAward> treasure
+) {
+}
@@ -0,0 +1,12 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+import java.util.Set;
+
+public record Combatant(
+        String name,
+        int hp,
+        int maxHp,
+        int initiative,
+        Set<String> conditions
+) {
+}
@@ -0,0 +1,9 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+public record TreasureAward(
+        String recipient,
+        String treasure,
+        Integer valueGp,
+        Integer session
+) {
+}
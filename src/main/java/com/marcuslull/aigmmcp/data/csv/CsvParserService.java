@@ -9,6 +9,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
@@ -19,15 +20,19 @@ public class CsvParserService {
     private static final String TREASURE_TABLE_NAME = "treasureTable.csv";
     private static final String XP_BUDGET_TABLE_NAME = "xpBudgetPerChar.csv";
     private static final String XP_CR_TABLE_NAME = "xpByCRTable.csv";
+    private static final String MONSTER_STATS_TABLE_NAME = "monsterStatsByCr.csv";
+    private static final String WEATHER_TRANSITION_TABLE_NAME = "weatherTransitions.csv";
 
     private final String TREASURE_TABLE_PATH = "classpath:csvs/" + TREASURE_TABLE_NAME;
     private final String XP_BUDGET_PER_CHAR_TABLE_PATH = "classpath:csvs/" + XP_BUDGET_TABLE_NAME;
     private final String XP_BY_CR_TABLE_PATH = "classpath:csvs/"+ XP_CR_TABLE_NAME;
+    private final String MONSTER_STATS_BY_CR_TABLE_PATH = "classpath:csvs/" + MONSTER_STATS_TABLE_NAME;
+    private final String WEATHER_TRANSITION_TABLE_PATH = "classpath:csvs/" + WEATHER_TRANSITION_TABLE_NAME;
 
     private final ResourceLoader resourceLoader;
 
-    // caching parsed tables for later use
-    private final Map<String, Map<Integer, ?>> tableCache = new HashMap<>();
+    // caching parsed tables for later use - concurrent since tools and resources parse their tables on first use
+    private final Map<String, Map<Integer, ?>> tableCache = new ConcurrentHashMap<>();
 
 
     public CsvParserService(ResourceLoader resourceLoader) {
@@ -62,6 +67,26 @@ public class CsvParserService {
     }
 
 
+    /**
+     * Returns a cached map of the typical monster combat stats by Challenge Rating (CR) Table.
+     * Used wherever a monster has no stats of its own.
+     * @return A map where the key is the Challenge Rating (CR) and the value is a list of AC, HP, attack bonus and damage per round.
+     */
+    public Map<Integer, List<String>> getMonsterStatsByCrTable() {
+        return getOrParseTable(MONSTER_STATS_TABLE_NAME, () -> parseTable(MONSTER_STATS_BY_CR_TABLE_PATH, 31, 5, this::parseStringListRow));
+    }
+
+
+    /**
+     * Returns a cached map of the Weather Transition Table.
+     * Each row holds the relative weights of tomorrow's weather given a climate, a season and today's weather.
+     * @return A map where the key is the row number (1-based, header excluded) and the value is the whole row: climate, season, from weather and the weights.
+     */
+    public Map<Integer, List<String>> getWeatherTransitionTable() {
+        return getOrParseTable(WEATHER_TRANSITION_TABLE_NAME, () -> parseTable(WEATHER_TRANSITION_TABLE_PATH, 97, 9, this::parseIndexedRow));
+    }
+
+
     // Boo! my casting is safe!!!
     @SuppressWarnings("unchecked")
     private <V> Map<Integer, V> getOrParseTable(String tableName, Supplier<Map<Integer, V>> parsingFunction) {
@@ -125,6 +150,12 @@ public class CsvParserService {
     }
 
 
+    // for tables without a numeric key column - rows are numbered in file order
+    private void parseIndexedRow(Map<Integer, List<String>> map, String[] lineArray) {
+        map.put(map.size() + 1, List.of(lineArray));
+    }
+
+
     private Resource getResource(String path) {
 
         log.info("Attempting to load resource from: {}", path);
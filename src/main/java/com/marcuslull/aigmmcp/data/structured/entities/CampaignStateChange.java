@@ -0,0 +1,17 @@
+package com.marcuslull.aigmmcp.data.structured.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table(name = "campaign_state_change")
+public record CampaignStateChange(
+        @Id Long id,
+        String campaignId,
+        Long seq,
+        String changeType,
+        String payload,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,16 @@
+package com.marcuslull.aigmmcp.data.structured.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table(name = "campaign_state_snapshot")
+public record CampaignStateSnapshot(
+        @Id Long id,
+        String campaignId,
+        Long seq,
+        String payload,
+        Instant createdAt
+) {
+}
@@ -7,6 +7,10 @@ import org.springframework.data.relational.core.mapping.Table;
 public record Srd521MonsterCr(
         @Id Long id,
         String name,
-        Integer cr
+        Integer cr,
+        Integer ac,
+        Integer hp,
+        Integer attackBonus,
+        Integer damagePerRound
 ) {
 }
@@ -0,0 +1,20 @@
+package com.marcuslull.aigmmcp.data.structured.repositories;
+
+import com.marcuslull.aigmmcp.data.structured.entities.CampaignStateChange;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.ListCrudRepository;
+
+import java.util.List;
+
+public interface CampaignStateChangeRepository extends ListCrudRepository<CampaignStateChange, Long> {
+    List<CampaignStateChange> findAllByCampaignIdAndSeqGreaterThanOrderBySeq(String campaignId, Long seq);
+
+    @Query("SELECT DISTINCT campaign_id FROM campaign_state_change")
+    List<String> findAllCampaignIds();
+
+    // log compaction once a snapshot covers these changes
+    @Modifying
+    @Query("DELETE FROM campaign_state_change WHERE campaign_id = :campaignId AND seq <= :seq")
+    void deleteAllUpTo(String campaignId, Long seq);
+}
@@ -0,0 +1,20 @@
+package com.marcuslull.aigmmcp.data.structured.repositories;
+
+import com.marcuslull.aigmmcp.data.structured.entities.CampaignStateSnapshot;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.ListCrudRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CampaignStateSnapshotRepository extends ListCrudRepository<CampaignStateSnapshot, Long> {
+    Optional<CampaignStateSnapshot> findFirstByCampaignIdOrderBySeqDesc(String campaignId);
+
+    @Query("SELECT DISTINCT campaign_id FROM campaign_state_snapshot")
+    List<String> findAllCampaignIds();
+
+    @Modifying
+    @Query("DELETE FROM campaign_state_snapshot WHERE campaign_id = :campaignId AND seq < :seq")
+    void deleteAllOlderThan(String campaignId, Long seq);
+}
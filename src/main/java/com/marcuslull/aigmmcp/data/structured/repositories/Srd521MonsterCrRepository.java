@@ -1,10 +1,20 @@
 package com.marcuslull.aigmmcp.data.structured.repositories;
 
 import com.marcuslull.aigmmcp.data.structured.entities.Srd521MonsterCr;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.ListPagingAndSortingRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface Srd521MonsterCrRepository extends ListPagingAndSortingRepository<Srd521MonsterCr, Long> {
     List<Srd521MonsterCr> findAllByCr(Integer cr);
+
+    // case-insensitive name match, callers pass the names lower-cased
+    @Query("SELECT * FROM srd521monstercr WHERE lower(name) IN (:lowerCaseNames)")
+    List<Srd521MonsterCr> findAllByLowerCaseNameIn(Collection<String> lowerCaseNames);
+
+    // changes whenever any row is added, removed or edited - used to decide when in-memory copies need rebuilding
+    @Query("SELECT COALESCE(md5(string_agg(concat_ws(':', id, name, cr, ac, hp, attack_bonus, damage_per_round), ',' ORDER BY id)), '') FROM srd521monstercr")
+    String contentFingerprint();
 }
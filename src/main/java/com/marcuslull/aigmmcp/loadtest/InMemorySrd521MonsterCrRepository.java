@@ -0,0 +1,119 @@
+package com.marcuslull.aigmmcp.loadtest;
+
+import com.marcuslull.aigmmcp.data.structured.entities.Srd521MonsterCr;
+import com.marcuslull.aigmmcp.data.structured.repositories.Srd521MonsterCrRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link Srd521MonsterCrRepository} backed by the rows of {@code sqlscripts/data.sql}, so the
+ * monster queries made by the tools behave like they do against Postgres without needing a database.
+ */
+@Slf4j
+public class InMemorySrd521MonsterCrRepository implements Srd521MonsterCrRepository {
+
+    private static final String DATA_PATH = "classpath:sqlscripts/data.sql";
+
+    // matches a single ('name', 'cr') value tuple from the insert script
+    private static final Pattern ROW_PATTERN = Pattern.compile("\\('((?:[^']|'')*)',\\s*'?(\\d+)'?\\)");
+
+    private final List<Srd521MonsterCr> monsters;
+
+
+    public InMemorySrd521MonsterCrRepository(ResourceLoader resourceLoader) {
+        this.monsters = List.copyOf(loadMonsters(resourceLoader));
+    }
+
+
+    @Override
+    public List<Srd521MonsterCr> findAllByCr(Integer cr) {
+        return monsters.stream().filter(m -> m.cr().equals(cr)).toList();
+    }
+
+
+    @Override
+    public List<Srd521MonsterCr> findAllByLowerCaseNameIn(Collection<String> lowerCaseNames) {
+        return monsters.stream().filter(m -> lowerCaseNames.contains(m.name().toLowerCase(Locale.ROOT))).toList();
+    }
+
+
+    @Override
+    public String contentFingerprint() {
+        return Integer.toHexString(monsters.hashCode());
+    }
+
+
+    @Override
+    public List<Srd521MonsterCr> findAll(Sort sort) {
+        return monsters.stream().sorted(toComparator(sort)).toList();
+    }
+
+
+    @Override
+    public Page<Srd521MonsterCr> findAll(Pageable pageable) {
+        List<Srd521MonsterCr> sorted = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+
+    private Comparator<Srd521MonsterCr> toComparator(Sort sort) {
+
+        Comparator<Srd521MonsterCr> comparator = Comparator.comparing(Srd521MonsterCr::id);
+        for (Sort.Order order : sort.toList().reversed()) {
+            Comparator<Srd521MonsterCr> byProperty = switch (order.getProperty()) {
+                case "name" -> Comparator.comparing(Srd521MonsterCr::name);
+                case "cr" -> Comparator.comparing(Srd521MonsterCr::cr);
+                default -> Comparator.comparing(Srd521MonsterCr::id);
+            };
+            comparator = (order.isAscending() ? byProperty : byProperty.reversed()).thenComparing(comparator);
+        }
+        return comparator;
+    }
+
+
+    private List<Srd521MonsterCr> loadMonsters(ResourceLoader resourceLoader) {
+
+        Resource resource = resourceLoader.getResource(DATA_PATH);
+        if (!resource.exists()) {
+            log.error("Load test monster data not found: {}", DATA_PATH);
+            return List.of();
+        }
+
+        List<Srd521MonsterCr> loaded = new ArrayList<>();
+        try {
+            Matcher matcher = ROW_PATTERN.matcher(resource.getContentAsString(StandardCharsets.UTF_8));
+            long id = 1;
+            while (matcher.find()) {
+                String name = matcher.group(1).replace("''", "'");
+                loaded.add(new Srd521MonsterCr(id++, name, Integer.valueOf(matcher.group(2)), null, null, null, null));
+            }
+        } catch (IOException e) {
+            log.error("Unexpected error reading load test monster data: {}", DATA_PATH, e);
+            return List.of();
+        }
+
+        log.info("Loaded {} monsters for the load test profile", loaded.size());
+        return loaded;
+    }
+}
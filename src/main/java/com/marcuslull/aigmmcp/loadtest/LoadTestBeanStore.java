@@ -0,0 +1,35 @@
+package com.marcuslull.aigmmcp.loadtest;
+
+import com.marcuslull.aigmmcp.data.structured.repositories.Srd521MonsterCrRepository;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Local stand-ins for the database and embedding dependencies, used when the packaged server is
+ * driven by the MCP load-test harness. The auto-configurations these replace are excluded in
+ * {@code application-loadtest.properties}.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestBeanStore {
+
+    @Bean
+    public Srd521MonsterCrRepository srd521MonsterCrRepository(ResourceLoader resourceLoader) {
+        return new InMemorySrd521MonsterCrRepository(resourceLoader);
+    }
+
+    @Bean
+    public EmbeddingModel stubEmbeddingModel() {
+        return new StubEmbeddingModel();
+    }
+
+    @Bean
+    public VectorStore vectorStore(EmbeddingModel embeddingModel) {
+        return SimpleVectorStore.builder(embeddingModel).build();
+    }
+}
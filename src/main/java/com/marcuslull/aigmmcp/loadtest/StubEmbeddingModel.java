@@ -0,0 +1,50 @@
+package com.marcuslull.aigmmcp.loadtest;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic embedding model that never leaves the JVM. Each text is hashed into a small
+ * fixed-size vector so that the vector store behaves consistently between load test runs.
+ */
+public class StubEmbeddingModel implements EmbeddingModel {
+
+    private static final int DIMENSIONS = 64;
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<Embedding> embeddings = new ArrayList<>();
+        List<String> instructions = request.getInstructions();
+        for (int i = 0; i < instructions.size(); i++) {
+            embeddings.add(new Embedding(embedText(instructions.get(i)), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return embedText(document.getText());
+    }
+
+    @Override
+    public int dimensions() {
+        return DIMENSIONS;
+    }
+
+    private float[] embedText(String text) {
+        float[] vector = new float[DIMENSIONS];
+        if (text == null) return vector;
+
+        // spread the characters over the buckets so similar texts land on similar vectors
+        for (int i = 0; i < text.length(); i++) {
+            vector[(text.charAt(i) * 31 + i) % DIMENSIONS] += 1f;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,121 @@
+package com.marcuslull.aigmmcp.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single logging entry point for the tool hot paths.
+ * <p>
+ * Every tool call produces at most one compact, single line event on the {@code aigm.tool} logger, e.g.
+ * {@code tool=rollDice us=38 calls=1200 ok 5xD10=27}. The summary is only built when the event is actually
+ * going to be written, so sampled-out calls never pay for string building or {@code toString} of large records.
+ * Events are sampled per tool (1 in N calls) and capped per second.
+ * <p>
+ * Audit mode writes the full input and output records of every call to the {@code aigm.audit} logger.
+ * It can be switched at runtime over JMX (bean {@code com.marcuslull.aigmmcp:type=ToolCallLogger}),
+ * so traceability is available without paying for it on every call.
+ */
+@Component
+@ManagedResource(objectName = "com.marcuslull.aigmmcp:type=ToolCallLogger", description = "Tool call logging controls")
+public class ToolCallLogger {
+
+    private static final Logger eventLog = LoggerFactory.getLogger("aigm.tool");
+    private static final Logger auditLog = LoggerFactory.getLogger("aigm.audit");
+
+    private final Map<String, ToolEventSampler> samplers = new ConcurrentHashMap<>();
+    private final ToolLoggingProperties properties;
+    private volatile boolean auditMode;
+
+
+    public ToolCallLogger(ToolLoggingProperties properties) {
+        this.properties = properties;
+        this.auditMode = properties.audit();
+    }
+
+
+    /**
+     * Records a successful tool call.
+     *
+     * @param tool       the tool name as exposed over MCP
+     * @param startNanos {@link System#nanoTime()} taken when the call started
+     * @param summary    builds the compact result summary, only invoked when the event is logged
+     * @param input      the tool input record, only logged in audit mode
+     * @param output     the tool output record, only logged in audit mode
+     */
+    public void success(String tool, long startNanos, Supplier<String> summary, Object input, Object output) {
+
+        long micros = (System.nanoTime() - startNanos) / 1_000;
+        ToolEventSampler sampler = sampler(tool);
+
+        if (eventLog.isInfoEnabled() && sampler.shouldLog(false, properties.maxEventsPerSecond())) {
+            eventLog.info("tool={} us={} calls={} ok {}", tool, micros, sampler.calls(), summary.get());
+        }
+        if (auditMode) {
+            auditLog.info("tool={} us={} input={} output={}", tool, micros, input, output);
+        }
+    }
+
+
+    /**
+     * Records a tool call that returned an error to the model.
+     *
+     * @param tool       the tool name as exposed over MCP
+     * @param startNanos {@link System#nanoTime()} taken when the call started
+     * @param input      the tool input record, included in the event since bad input is the usual cause
+     * @param error      the error message returned to the model
+     */
+    public void failure(String tool, long startNanos, Object input, String error) {
+
+        long micros = (System.nanoTime() - startNanos) / 1_000;
+        ToolEventSampler sampler = sampler(tool);
+
+        if (eventLog.isWarnEnabled() && sampler.shouldLog(true, properties.maxEventsPerSecond())) {
+            eventLog.warn("tool={} us={} calls={} error=\"{}\" input={}", tool, micros, sampler.calls(), error, input);
+        }
+        if (auditMode) {
+            auditLog.info("tool={} us={} input={} error=\"{}\"", tool, micros, input, error);
+        }
+    }
+
+
+    @ManagedAttribute(description = "Log full tool input and output records for every call")
+    public boolean isAuditMode() {
+        return auditMode;
+    }
+
+
+    @ManagedAttribute(description = "Log full tool input and output records for every call")
+    public void setAuditMode(boolean auditMode) {
+        this.auditMode = auditMode;
+        eventLog.info("Tool call audit mode {}", auditMode ? "enabled" : "disabled");
+    }
+
+
+    @ManagedOperation(description = "Log one compact event for every N calls of the given tool")
+    public void updateToolSampleEvery(String tool, int sampleEvery) {
+        sampler(tool).setSampleEvery(sampleEvery);
+    }
+
+
+    @ManagedOperation(description = "Current 1 in N sampling for the given tool")
+    public int toolSampleEvery(String tool) {
+        return sampler(tool).getSampleEvery();
+    }
+
+
+    private ToolEventSampler sampler(String tool) {
+        return samplers.computeIfAbsent(tool, t -> {
+            Map<String, Integer> overrides = properties.toolSampleEvery();
+            int sampleEvery = overrides != null ? overrides.getOrDefault(t, properties.sampleEvery()) : properties.sampleEvery();
+            return new ToolEventSampler(sampleEvery);
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.marcuslull.aigmmcp.logging;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tool sampling and rate limiting for compact tool events. Lock free, and allocation free once created.
+ */
+class ToolEventSampler {
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicInteger eventsThisSecond = new AtomicInteger();
+    private volatile long currentSecond;
+    private volatile int sampleEvery;
+
+
+    ToolEventSampler(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+
+
+    /**
+     * Counts a call and decides whether its event gets logged.
+     * Failures skip the 1-in-N sampling but still respect the per-second limit.
+     */
+    boolean shouldLog(boolean failure, int maxEventsPerSecond) {
+
+        long call = calls.incrementAndGet();
+        if (!failure && call % sampleEvery != 0) return false;
+
+        long second = System.nanoTime() / 1_000_000_000L;
+        if (second != currentSecond) {
+            // a racing thread may reset the count twice in the same second, which only lets a few extra events through
+            currentSecond = second;
+            eventsThisSecond.set(0);
+        }
+        return eventsThisSecond.incrementAndGet() <= maxEventsPerSecond;
+    }
+
+
+    long calls() {
+        return calls.get();
+    }
+
+
+    int getSampleEvery() {
+        return sampleEvery;
+    }
+
+
+    void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+}
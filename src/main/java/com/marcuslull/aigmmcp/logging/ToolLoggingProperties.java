@@ -0,0 +1,23 @@
+package com.marcuslull.aigmmcp.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Tool call logging settings, bound from {@code aigm.logging.*}.
+ *
+ * @param audit              starts the server in full-fidelity audit mode (full input and output records are logged)
+ * @param sampleEvery        log one compact event for every N calls of a tool
+ * @param toolSampleEvery    per-tool override of {@code sampleEvery}, keyed by tool name e.g. {@code tool-sample-every[rollDice]=10}
+ * @param maxEventsPerSecond upper bound of compact events logged per tool per second, failures included
+ */
+@ConfigurationProperties(prefix = "aigm.logging")
+public record ToolLoggingProperties(
+        @DefaultValue("false") boolean audit,
+        @DefaultValue("1") int sampleEvery,
+        Map<String, Integer> toolSampleEvery,
+        @DefaultValue("50") int maxEventsPerSecond
+) {
+}
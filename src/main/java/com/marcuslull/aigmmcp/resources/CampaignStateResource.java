@@ -0,0 +1,48 @@
+package com.marcuslull.aigmmcp.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcuslull.aigmmcp.data.campaign.CampaignStateStore;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exposes the tracked state of every campaign as a single MCP resource, read straight from memory.
+ */
+@Component
+public class CampaignStateResource {
+
+    static final String URI = "aigm://campaigns";
+
+    private final CampaignStateStore campaignStateStore;
+    private final ObjectMapper objectMapper;
+
+
+    public CampaignStateResource(CampaignStateStore campaignStateStore, ObjectMapper objectMapper) {
+        this.campaignStateStore = campaignStateStore;
+        this.objectMapper = objectMapper;
+    }
+
+
+    public McpServerFeatures.SyncResourceSpecification specification() {
+
+        McpSchema.Resource resource = new McpSchema.Resource(URI, "Campaign state",
+                "Tracked state of every campaign: session, initiative order, HP, conditions, current turn and treasure handed out",
+                "application/json", null);
+
+        return new McpServerFeatures.SyncResourceSpecification(resource, (exchange, request) -> {
+            // an empty list would read as "no campaigns", not "not loaded yet"
+            String unavailable = campaignStateStore.unavailableReason();
+            if (unavailable != null) throw new IllegalStateException(unavailable);
+            try {
+                String json = objectMapper.writeValueAsString(campaignStateStore.getAll());
+                return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(URI, "application/json", json)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialise the campaign state", e);
+            }
+        });
+    }
+}
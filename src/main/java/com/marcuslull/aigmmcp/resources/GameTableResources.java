@@ -0,0 +1,199 @@
+package com.marcuslull.aigmmcp.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcuslull.aigmmcp.data.csv.CsvParserService;
+import com.marcuslull.aigmmcp.tools.monstersearch.MonsterTableReloadedEvent;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the game tables (monsters, treasure, XP budget per character, XP by CR) as versioned, paginated MCP resources.
+ * <p>
+ * {@code aigm://tables} lists every table, {@code aigm://tables/{table}} describes one table and its current version,
+ * and {@code aigm://tables/{table}/pages/{n}} returns a page of rows whose {@code nextCursor} is the URI of the next page.
+ * Each table's pages are one resource whose URI template takes the page number as the cursor, so the resource list
+ * is fixed and a table can grow or shrink without registering anything. All of it is served from pre-serialised
+ * {@link TableSnapshot}s.
+ * <p>
+ * Nothing is read while the context starts, so the MCP server can answer {@code initialize} straight away. The CSV
+ * tables are built on first read and are fixed for the life of the process. The monster table is filled in and
+ * refreshed from {@link MonsterTableReloadedEvent}s.
+ * <p>
+ * Clients get exactly one resource list change notification whenever a table's version changes, so anything cached
+ * by version can be re-read.
+ */
+@Slf4j
+@Component
+public class GameTableResources {
+
+    static final String MONSTERS = "monsters";
+    static final String TREASURE = "treasure";
+    static final String XP_BUDGET_PER_CHAR = "xp-budget-per-char";
+    static final String XP_BY_CR = "xp-by-cr";
+
+    // the order the index resource lists the tables in
+    private static final List<String> TABLES = List.of(MONSTERS, TREASURE, XP_BUDGET_PER_CHAR, XP_BY_CR);
+
+    private static final String INDEX_URI = "aigm://tables";
+    private static final String MIME_TYPE = "application/json";
+
+    private static final List<String> TREASURE_COLUMNS = List.of("incidental", "using", "personal", "stash", "trove", "fortune", "hoard");
+    private static final List<String> XP_BUDGET_COLUMNS = List.of("low", "moderate", "high");
+
+    private final CsvParserService csvParserService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<McpSyncServer> mcpSyncServer;
+    private final int pageSize;
+
+    private final Map<String, TableSnapshot> snapshots = new ConcurrentHashMap<>();
+
+
+    public GameTableResources(CsvParserService csvParserService,
+                              ObjectMapper objectMapper,
+                              ObjectProvider<McpSyncServer> mcpSyncServer,
+                              @Value("${aigm.tables.page-size:50}") int pageSize) {
+        this.csvParserService = csvParserService;
+        this.objectMapper = objectMapper;
+        this.mcpSyncServer = mcpSyncServer;
+        this.pageSize = pageSize;
+    }
+
+
+    /**
+     * The index, and a manifest and a pages resource per table. None of them depend on the data, so this set never changes.
+     */
+    public List<McpServerFeatures.SyncResourceSpecification> specifications() {
+
+        List<McpServerFeatures.SyncResourceSpecification> specifications = new ArrayList<>();
+        specifications.add(indexSpecification());
+        for (String table : TABLES) {
+            specifications.add(manifestSpecification(table));
+            specifications.add(pagesSpecification(table));
+        }
+        return specifications;
+    }
+
+
+    @EventListener
+    public void onMonsterTableReloaded(MonsterTableReloadedEvent event) {
+        try {
+            replace(TableSnapshot.of(MONSTERS, event.monsters(), pageSize, objectMapper));
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the monster table resource, keeping the current version", e);
+        }
+    }
+
+
+    // synchronized so two reloads can't interleave their notifications
+    synchronized void replace(TableSnapshot snapshot) {
+
+        TableSnapshot previous = snapshots.put(snapshot.table(), snapshot);
+        if (previous != null && previous.version().equals(snapshot.version())) return;
+
+        log.info("Table resource {} is now version {} with {} rows", snapshot.table(), snapshot.version(), snapshot.rowCount());
+
+        McpSyncServer server = mcpSyncServer.getIfAvailable();
+        if (server != null) server.notifyResourcesListChanged();
+    }
+
+
+    TableSnapshot snapshot(String table) {
+        return snapshots.computeIfAbsent(table, this::load);
+    }
+
+
+    private McpServerFeatures.SyncResourceSpecification indexSpecification() {
+        McpSchema.Resource resource = new McpSchema.Resource(INDEX_URI, "Game tables",
+                "Every game table with its current version, row count and the URI of its first page", MIME_TYPE, null);
+        return new McpServerFeatures.SyncResourceSpecification(resource, (exchange, request) -> contents(INDEX_URI, renderIndex()));
+    }
+
+
+    private McpServerFeatures.SyncResourceSpecification manifestSpecification(String table) {
+        String uri = TableSnapshot.manifestUri(table);
+        McpSchema.Resource resource = new McpSchema.Resource(uri, "Game table: " + table,
+                "Current version, row count and page count of the " + table + " table", MIME_TYPE, null);
+        return new McpServerFeatures.SyncResourceSpecification(resource, (exchange, request) -> contents(uri, snapshot(table).manifest()));
+    }
+
+
+    private McpServerFeatures.SyncResourceSpecification pagesSpecification(String table) {
+        String pagePrefix = TableSnapshot.pageUriPrefix(table);
+        McpSchema.Resource resource = new McpSchema.Resource(pagePrefix + "{page}", "Game table: " + table + ", pages",
+                "Rows of the " + table + " table, page 0 first. nextCursor is the URI of the next page, version changes with the content", MIME_TYPE, null);
+        return new McpServerFeatures.SyncResourceSpecification(resource, (exchange, request) -> {
+            int page;
+            try {
+                page = Integer.parseInt(request.uri().substring(pagePrefix.length()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Not a page of the " + table + " table: " + request.uri());
+            }
+            List<String> pages = snapshot(table).pages();
+            if (page < 0 || page >= pages.size()) {
+                throw new IllegalArgumentException("Page " + page + " of the " + table + " table does not exist, re-read " + TableSnapshot.manifestUri(table));
+            }
+            return contents(request.uri(), pages.get(page));
+        });
+    }
+
+
+    private McpSchema.ReadResourceResult contents(String uri, String json) {
+        return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(uri, MIME_TYPE, json)));
+    }
+
+
+    private String renderIndex() {
+        // the manifests are already JSON objects, no need to serialise them again
+        return TABLES.stream().map(table -> snapshot(table).manifest()).collect(Collectors.joining(",", "[", "]"));
+    }
+
+
+    private TableSnapshot load(String table) {
+        return switch (table) {
+            // served empty until the monster name index publishes the table, a first read never waits on the database
+            case MONSTERS -> TableSnapshot.of(MONSTERS, List.of(), pageSize, objectMapper);
+            case TREASURE -> TableSnapshot.of(TREASURE, keyedRows("cr", TREASURE_COLUMNS, csvParserService.getTreasureTable()), pageSize, objectMapper);
+            case XP_BUDGET_PER_CHAR -> TableSnapshot.of(XP_BUDGET_PER_CHAR, keyedRows("level", XP_BUDGET_COLUMNS, csvParserService.getXpBudgetPerCharTable()), pageSize, objectMapper);
+            case XP_BY_CR -> TableSnapshot.of(XP_BY_CR, xpByCrRows(csvParserService.getXpByCrTable()), pageSize, objectMapper);
+            default -> throw new IllegalArgumentException("Unknown game table: " + table);
+        };
+    }
+
+
+    private List<Map<String, Object>> keyedRows(String keyColumn, List<String> columns, Map<Integer, List<String>> table) {
+
+        List<Map<String, Object>> rows = new ArrayList<>(table.size());
+        for (Map.Entry<Integer, List<String>> entry : new TreeMap<>(table).entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put(keyColumn, entry.getKey());
+            for (int column = 0; column < columns.size() && column < entry.getValue().size(); column++) {
+                row.put(columns.get(column), entry.getValue().get(column));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+
+    private List<Map<String, Object>> xpByCrRows(Map<Integer, Integer> table) {
+
+        List<Map<String, Object>> rows = new ArrayList<>(table.size());
+        for (Map.Entry<Integer, Integer> entry : new TreeMap<>(table).entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("cr", entry.getKey());
+            row.put("xp", entry.getValue());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
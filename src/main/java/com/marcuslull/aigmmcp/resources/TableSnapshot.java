@@ -0,0 +1,89 @@
+package com.marcuslull.aigmmcp.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-serialised copy of one game table as served through MCP resources.
+ * <p>
+ * The rows are split into pages and every page is rendered to JSON once, up front, so a resource read is a
+ * lookup. The version is a hash of the row content: it only changes when the data does, which is what decides
+ * whether clients get a change notification.
+ *
+ * @param table    short table name used in the resource URIs
+ * @param version  content hash of the rows
+ * @param rowCount total number of rows
+ * @param manifest pre-serialised JSON describing the table, its version and its pages
+ * @param pages    pre-serialised JSON of each page, in order
+ */
+record TableSnapshot(String table, String version, int rowCount, String manifest, List<String> pages) {
+
+    static final String URI_PREFIX = "aigm://tables/";
+
+
+    static TableSnapshot of(String table, List<?> rows, int pageSize, ObjectMapper objectMapper) {
+
+        try {
+            String version = hash(objectMapper.writeValueAsBytes(rows));
+            int pageCount = Math.max(1, (rows.size() + pageSize - 1) / pageSize);
+
+            List<String> pages = new ArrayList<>(pageCount);
+            for (int page = 0; page < pageCount; page++) {
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("table", table);
+                body.put("version", version);
+                body.put("page", page);
+                body.put("rows", rows.subList(Math.min(page * pageSize, rows.size()), Math.min((page + 1) * pageSize, rows.size())));
+                body.put("nextCursor", page + 1 < pageCount ? pageUri(table, page + 1) : null);
+                pages.add(objectMapper.writeValueAsString(body));
+            }
+
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            manifest.put("table", table);
+            manifest.put("version", version);
+            manifest.put("rowCount", rows.size());
+            manifest.put("pageSize", pageSize);
+            manifest.put("pageCount", pageCount);
+            manifest.put("firstPage", pageUri(table, 0));
+
+            return new TableSnapshot(table, version, rows.size(), objectMapper.writeValueAsString(manifest), List.copyOf(pages));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise the " + table + " table", e);
+        }
+    }
+
+
+    static String manifestUri(String table) {
+        return URI_PREFIX + table;
+    }
+
+
+    static String pageUri(String table, int page) {
+        return pageUriPrefix(table) + page;
+    }
+
+
+    // every page URI of the table is this prefix followed by the page number
+    static String pageUriPrefix(String table) {
+        return URI_PREFIX + table + "/pages/";
+    }
+
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
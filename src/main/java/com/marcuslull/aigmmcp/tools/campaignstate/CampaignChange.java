@@ -0,0 +1,13 @@
+package com.marcuslull.aigmmcp.tools.campaignstate;
+
+import com.marcuslull.aigmmcp.data.campaign.CampaignEventType;
+
+public record CampaignChange(
+        CampaignEventType type,
+        String target,
+        Integer amount,
+        Integer maxHp,
+        Integer initiative,
+        String text
+) {
+}
@@ -0,0 +1,6 @@
+package com.marcuslull.aigmmcp.tools.campaignstate;
+
+public record CampaignStateQuery(
+        String campaignId
+) {
+}
@@ -0,0 +1,10 @@
+package com.marcuslull.aigmmcp.tools.campaignstate;
+
+import com.marcuslull.aigmmcp.data.campaign.CampaignStateView;
+
+public record CampaignStateResult(
+        String campaignId,
+        CampaignStateView state,
+        String error
+) {
+}
@@ -0,0 +1,140 @@
+package com.marcuslull.aigmmcp.tools.campaignstate;
+
+import com.marcuslull.aigmmcp.data.campaign.CampaignEvent;
+import com.marcuslull.aigmmcp.data.campaign.CampaignStateStore;
+import com.marcuslull.aigmmcp.data.campaign.CampaignStateView;
+import com.marcuslull.aigmmcp.logging.ToolCallLogger;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Service
+public class CampaignStateService {
+
+    private static final String GET_TOOL_NAME = "getCampaignState";
+    private static final String UPDATE_TOOL_NAME = "updateCampaignState";
+    private static final int MAX_CHANGES = 100;
+    // stored in VARCHAR columns and used in resource listings, so kept short and printable
+    private static final Pattern CAMPAIGN_ID_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9 _.:-]{0,63}");
+    private static final String CAMPAIGN_ID_ERROR = "campaignId must be 1-64 letters, digits, spaces or _ . : - characters, starting with a letter or digit";
+
+    private final CampaignStateStore campaignStateStore;
+    private final ToolCallLogger toolCallLogger;
+
+
+    public CampaignStateService(CampaignStateStore campaignStateStore, ToolCallLogger toolCallLogger) {
+        this.campaignStateStore = campaignStateStore;
+        this.toolCallLogger = toolCallLogger;
+    }
+
+
+    /**
+     * Returns the tracked state of a campaign: session number, combat round, initiative order with HP and
+     * conditions, whose turn it is, and the treasure handed out so far.
+     * This method is exposed as a tool that can be called by an AI model, as indicated by the {@code @Tool} annotation.
+     * <p>
+     * The state is read from memory, so this is cheap enough to call before every combat turn instead of
+     * carrying the state in the conversation.
+     *
+     * @param campaignStateQuery The id of the campaign.
+     * @return A {@link CampaignStateResult} with the current {@link CampaignStateView}, or an error message
+     *         if the id is missing, nothing has been recorded for the campaign yet or the stored campaigns are still loading.
+     */
+    @Tool(name = GET_TOOL_NAME, description = "Get the tracked state of a campaign: session, initiative order, HP, conditions, current turn and treasure handed out")
+    public CampaignStateResult getCampaignState(CampaignStateQuery campaignStateQuery) {
+
+        long start = System.nanoTime();
+
+        if (campaignStateQuery == null || !isValidCampaignId(campaignStateQuery.campaignId())) {
+            String error = CAMPAIGN_ID_ERROR;
+            toolCallLogger.failure(GET_TOOL_NAME, start, campaignStateQuery, error);
+            return new CampaignStateResult(null, null, error);
+        }
+
+        String unavailable = campaignStateStore.unavailableReason();
+        if (unavailable != null) {
+            toolCallLogger.failure(GET_TOOL_NAME, start, campaignStateQuery, unavailable);
+            return new CampaignStateResult(campaignStateQuery.campaignId(), null, unavailable);
+        }
+
+        CampaignStateView state = campaignStateStore.get(campaignStateQuery.campaignId());
+        if (state == null) {
+            String error = "No state has been recorded for campaign " + campaignStateQuery.campaignId() + ". Use updateCampaignState to start tracking it";
+            toolCallLogger.failure(GET_TOOL_NAME, start, campaignStateQuery, error);
+            return new CampaignStateResult(campaignStateQuery.campaignId(), null, error);
+        }
+
+        CampaignStateResult result = new CampaignStateResult(campaignStateQuery.campaignId(), state, null);
+        toolCallLogger.success(GET_TOOL_NAME, start,
+                () -> "campaign=" + state.campaignId() + " version=" + state.version(), campaignStateQuery, result);
+        return result;
+    }
+
+
+    /**
+     * Applies a batch of changes to a campaign's tracked state, in order, and returns the updated state.
+     * This method is exposed as a tool that can be called by an AI model, as indicated by the {@code @Tool} annotation.
+     * <p>
+     * A campaign is created by its first update. The supported change types are:
+     * <ul>
+     *     <li>{@code SESSION_STARTED} - {@code amount} is the session number</li>
+     *     <li>{@code COMBATANT_ADDED} - {@code target} name, {@code amount} current HP, optional {@code maxHp} and {@code initiative}</li>
+     *     <li>{@code COMBAT_STARTED}, {@code TURN_ADVANCED}, {@code COMBAT_ENDED} - no fields, ending combat clears the combatants</li>
+     *     <li>{@code HP_CHANGED} - {@code target}, {@code amount} negative for damage, positive for healing</li>
+     *     <li>{@code CONDITION_ADDED}, {@code CONDITION_REMOVED} - {@code target} and the condition as {@code text}</li>
+     *     <li>{@code COMBATANT_REMOVED} - {@code target}</li>
+     *     <li>{@code TREASURE_AWARDED} - {@code text} describing the treasure, optional recipient {@code target} and gp value {@code amount}</li>
+     * </ul>
+     * Changes are applied in memory immediately and persisted shortly after. If a change is invalid
+     * (e.g. an unknown combatant) the changes before it stay applied and an error names the rejected change.
+     *
+     * @param campaignUpdateQuery The id of the campaign and 1-100 changes to apply in order.
+     * @return A {@link CampaignStateResult} with the state after the update, and an error message if a change was rejected.
+     */
+    @Tool(name = UPDATE_TOOL_NAME, description = "Record campaign and combat changes: sessions, combatants, initiative, damage and healing, conditions, turns and treasure handed out")
+    public CampaignStateResult updateCampaignState(CampaignUpdateQuery campaignUpdateQuery) {
+
+        long start = System.nanoTime();
+
+        if (campaignUpdateQuery != null && !isValidCampaignId(campaignUpdateQuery.campaignId())) {
+            toolCallLogger.failure(UPDATE_TOOL_NAME, start, campaignUpdateQuery, CAMPAIGN_ID_ERROR);
+            return new CampaignStateResult(null, null, CAMPAIGN_ID_ERROR);
+        }
+        if (campaignUpdateQuery == null || campaignUpdateQuery.changes() == null || campaignUpdateQuery.changes().isEmpty()
+                || campaignUpdateQuery.changes().size() > MAX_CHANGES || campaignUpdateQuery.changes().contains(null)) {
+            String error = "Campaign update must contain a campaignId and between 1 and " + MAX_CHANGES + " changes";
+            toolCallLogger.failure(UPDATE_TOOL_NAME, start, campaignUpdateQuery, error);
+            return new CampaignStateResult(campaignUpdateQuery != null ? campaignUpdateQuery.campaignId() : null, null, error);
+        }
+
+        String campaignId = campaignUpdateQuery.campaignId();
+        String unavailable = campaignStateStore.unavailableReason();
+        if (unavailable != null) {
+            toolCallLogger.failure(UPDATE_TOOL_NAME, start, campaignUpdateQuery, unavailable);
+            return new CampaignStateResult(campaignId, null, unavailable);
+        }
+
+        List<CampaignEvent> events = campaignUpdateQuery.changes().stream()
+                .map(c -> new CampaignEvent(campaignId, 0, c.type(), c.target(), c.amount(), c.maxHp(), c.initiative(), c.text()))
+                .toList();
+
+        try {
+            CampaignStateView state = campaignStateStore.apply(campaignId, events);
+            CampaignStateResult result = new CampaignStateResult(campaignId, state, null);
+            toolCallLogger.success(UPDATE_TOOL_NAME, start,
+                    () -> "campaign=" + campaignId + " changes=" + events.size() + " version=" + state.version(), campaignUpdateQuery, result);
+            return result;
+
+        } catch (IllegalArgumentException e) {
+            toolCallLogger.failure(UPDATE_TOOL_NAME, start, campaignUpdateQuery, e.getMessage());
+            return new CampaignStateResult(campaignId, campaignStateStore.get(campaignId), e.getMessage());
+        }
+    }
+
+
+    private boolean isValidCampaignId(String campaignId) {
+        return campaignId != null && CAMPAIGN_ID_PATTERN.matcher(campaignId).matches();
+    }
+}
@@ -0,0 +1,9 @@
+package com.marcuslull.aigmmcp.tools.campaignstate;
+
+import java.util.List;
+
+public record CampaignUpdateQuery(
+        String campaignId,
+        List<CampaignChange> changes
+) {
+}
@@ -0,0 +1,11 @@
+package com.marcuslull.aigmmcp.tools.combatsimulator;
+
+import java.util.List;
+
+public record CombatSimulationQuery(
+        List<PartyMember> party,
+        List<String> monsters,
+        Integer simulations,
+        Long seed
+) {
+}
@@ -0,0 +1,18 @@
+package com.marcuslull.aigmmcp.tools.combatsimulator;
+
+import java.util.List;
+
+public record CombatSimulationResult(
+        CombatSimulationQuery query,
+        List<CombatantProfile> party,
+        List<CombatantProfile> monsters,
+        Integer simulations,
+        Long seed,
+        Double partyWinProbability,
+        Double expectedRounds,
+        Double pcDownProbability,
+        Double expectedPcsDown,
+        Double totalPartyKillProbability,
+        String error
+) {
+}
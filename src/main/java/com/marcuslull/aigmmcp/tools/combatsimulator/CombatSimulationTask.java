@@ -0,0 +1,138 @@
+package com.marcuslull.aigmmcp.tools.combatsimulator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs a batch of simplified combats on the fork-join pool.
+ * <p>
+ * Combatant state is kept as a structure of arrays: index {@code 0 .. pcCount-1} are the PCs, the rest are monsters.
+ * The base arrays are shared read-only between tasks; each leaf allocates its working arrays once and reuses them
+ * for every combat, so the inner loops allocate nothing. Batches split their {@link SplittableRandom} before forking,
+ * which keeps a run reproducible from its seed regardless of how the pool schedules the work.
+ * <p>
+ * The combat model is deliberately simple: a random initiative order per combat, one attack per combatant per round
+ * (d20 + attack bonus vs AC, natural 1 misses, natural 20 hits) dealing damage spread evenly around its damage per
+ * round. PCs focus fire on the first monster still standing, monsters pick a random PC still standing. A PC at
+ * 0 HP is down for the rest of the fight. A fight still running after {@link #MAX_ROUNDS} counts as a party loss.
+ */
+class CombatSimulationTask extends RecursiveTask<CombatTally> {
+
+    static final int MAX_ROUNDS = 100;
+    private static final int LEAF_SIZE = 250;
+
+    private final int[] baseHp;
+    private final int[] ac;
+    private final int[] attackBonus;
+    private final int[] damagePerRound;
+    private final int pcCount;
+    private final int combats;
+    private final SplittableRandom random;
+
+
+    CombatSimulationTask(int[] baseHp, int[] ac, int[] attackBonus, int[] damagePerRound, int pcCount, int combats, SplittableRandom random) {
+        this.baseHp = baseHp;
+        this.ac = ac;
+        this.attackBonus = attackBonus;
+        this.damagePerRound = damagePerRound;
+        this.pcCount = pcCount;
+        this.combats = combats;
+        this.random = random;
+    }
+
+
+    @Override
+    protected CombatTally compute() {
+
+        if (combats <= LEAF_SIZE) {
+            return simulate();
+        }
+
+        int half = combats / 2;
+        CombatSimulationTask left = new CombatSimulationTask(baseHp, ac, attackBonus, damagePerRound, pcCount, half, random.split());
+        CombatSimulationTask right = new CombatSimulationTask(baseHp, ac, attackBonus, damagePerRound, pcCount, combats - half, random);
+        left.fork();
+        CombatTally tally = right.compute();
+        return tally.merge(left.join());
+    }
+
+
+    private CombatTally simulate() {
+
+        int combatantCount = baseHp.length;
+        int[] hp = new int[combatantCount];
+        int[] initiative = new int[combatantCount];
+        for (int i = 0; i < combatantCount; i++) initiative[i] = i;
+
+        CombatTally tally = new CombatTally();
+        for (int combat = 0; combat < combats; combat++) {
+
+            System.arraycopy(baseHp, 0, hp, 0, combatantCount);
+            shuffle(initiative);
+
+            int pcsStanding = pcCount;
+            int monstersStanding = combatantCount - pcCount;
+            int round = 0;
+
+            while (pcsStanding > 0 && monstersStanding > 0 && round < MAX_ROUNDS) {
+                round++;
+
+                for (int turn = 0; turn < combatantCount && pcsStanding > 0 && monstersStanding > 0; turn++) {
+                    int attacker = initiative[turn];
+                    if (hp[attacker] <= 0) continue;
+
+                    boolean attackerIsPc = attacker < pcCount;
+                    int target = attackerIsPc ? firstStandingMonster(hp) : randomStandingPc(hp, pcsStanding);
+
+                    int d20 = random.nextInt(20) + 1;
+                    boolean hit = d20 == 20 || (d20 != 1 && d20 + attackBonus[attacker] >= ac[target]);
+                    if (!hit) continue;
+
+                    int damage = damagePerRound[attacker];
+                    hp[target] -= damage / 2 + random.nextInt(damage + 1);
+
+                    if (hp[target] <= 0) {
+                        if (attackerIsPc) monstersStanding--;
+                        else pcsStanding--;
+                    }
+                }
+            }
+
+            int pcsDown = pcCount - pcsStanding;
+            tally.combats++;
+            tally.rounds += round;
+            tally.pcsDown += pcsDown;
+            if (monstersStanding == 0) tally.partyWins++;
+            if (pcsDown > 0) tally.combatsWithPcDown++;
+            if (pcsStanding == 0) tally.totalPartyKills++;
+        }
+        return tally;
+    }
+
+
+    private int firstStandingMonster(int[] hp) {
+        for (int i = pcCount; i < hp.length; i++) {
+            if (hp[i] > 0) return i;
+        }
+        return -1; // unreachable - the caller only asks while a monster is standing
+    }
+
+
+    private int randomStandingPc(int[] hp, int pcsStanding) {
+        int pick = random.nextInt(pcsStanding);
+        for (int i = 0; i < pcCount; i++) {
+            if (hp[i] > 0 && pick-- == 0) return i;
+        }
+        return -1; // unreachable - pcsStanding always matches the PCs above 0 HP
+    }
+
+
+    private void shuffle(int[] order) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.marcuslull.aigmmcp.tools.combatsimulator;
+
+import com.marcuslull.aigmmcp.data.csv.CsvParserService;
+import com.marcuslull.aigmmcp.data.structured.entities.Srd521MonsterCr;
+import com.marcuslull.aigmmcp.data.structured.repositories.Srd521MonsterCrRepository;
+import com.marcuslull.aigmmcp.logging.ToolCallLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class CombatSimulatorService {
+
+    private static final String TOOL_NAME = "combatSimulator";
+    private static final int DEFAULT_SIMULATIONS = 10_000;
+    private static final int MAX_SIMULATIONS = 100_000;
+    private static final int MAX_COMBATANTS_PER_SIDE = 30;
+
+    private final CsvParserService csvParserService;
+    private final Srd521MonsterCrRepository srd521MonsterCrRepository;
+    private final ToolCallLogger toolCallLogger;
+    private final Random random;
+
+
+    public CombatSimulatorService(CsvParserService csvParserService, Srd521MonsterCrRepository srd521MonsterCrRepository,
+                                  ToolCallLogger toolCallLogger, Random random) {
+        this.csvParserService = csvParserService;
+        this.srd521MonsterCrRepository = srd521MonsterCrRepository;
+        this.toolCallLogger = toolCallLogger;
+        this.random = random;
+    }
+
+
+    /**
+     * Estimates how deadly an encounter is for a party by running thousands of simplified combats in parallel.
+     * This method is exposed as a tool that can be called by an AI model, as indicated by the {@code @Tool} annotation.
+     * <p>
+     * The process involves:
+     * <ol>
+     *     <li>Validating the query (1-30 PCs of level 1-20, 1-30 monsters, a sane simulation count).</li>
+     *     <li>Building a combat profile for every PC, using the supplied stats or typical stats for the PC level.</li>
+     *     <li>Looking up every monster by name, using its own combat stats or the typical stats for its CR.</li>
+     *     <li>Running the simulations on the fork-join pool, see {@link CombatSimulationTask} for the combat model.</li>
+     * </ol>
+     * If any step fails (e.g., invalid input, unknown monster names, missing stats table),
+     * a {@link CombatSimulationResult} with an appropriate error message is returned.
+     *
+     * @param combatSimulationQuery The party, the monster names (one entry per monster, repeats allowed),
+     *                              an optional number of simulations (default 10,000) and an optional seed.
+     * @return A {@link CombatSimulationResult} with the combat profiles used, the seed (reuse it to reproduce the run),
+     *         the party win probability, expected rounds, the probability that at least one PC goes down,
+     *         the expected number of PCs down and the total party kill probability. The error field is null on success.
+     */
+    @Tool(name = TOOL_NAME, description = "Simulate thousands of combats between a party and an encounter's monsters to estimate win probability, expected rounds and the risk of PCs going down")
+    public CombatSimulationResult simulateCombat(CombatSimulationQuery combatSimulationQuery) {
+
+        long start = System.nanoTime();
+
+        String argsError = validateArgs(combatSimulationQuery);
+        if (argsError != null) {
+            return failure(start, combatSimulationQuery, null, null, argsError);
+        }
+
+        List<CombatantProfile> party = combatSimulationQuery.party().stream().map(this::toProfile).toList();
+
+        Map<Integer, List<String>> monsterStatsByCr = csvParserService.getMonsterStatsByCrTable();
+        if (monsterStatsByCr == null || monsterStatsByCr.isEmpty()) {
+            log.error("Monster stats by CR table is null or empty. Check the CSV");
+            return failure(start, combatSimulationQuery, party, null, "Internal error - Either judge the encounter difficulty yourself or try again later");
+        }
+
+        // SRD names are matched regardless of case, "bugbear warrior" finds "Bugbear Warrior"
+        Set<String> lowerCaseNames = combatSimulationQuery.monsters().stream().map(CombatSimulatorService::lowerCase).collect(Collectors.toSet());
+        Map<String, Srd521MonsterCr> monstersByName = srd521MonsterCrRepository.findAllByLowerCaseNameIn(lowerCaseNames)
+                .stream()
+                .collect(Collectors.toMap(m -> lowerCase(m.name()), Function.identity(), (first, second) -> first));
+
+        List<String> unknownMonsters = combatSimulationQuery.monsters().stream().filter(n -> !monstersByName.containsKey(lowerCase(n))).distinct().toList();
+        if (!unknownMonsters.isEmpty()) {
+            return failure(start, combatSimulationQuery, party, null, "Unknown monster names: " + unknownMonsters + ". Use the SRD monster names, monsterSearch finds the closest matches.");
+        }
+
+        List<CombatantProfile> monsters;
+        try {
+            monsters = combatSimulationQuery.monsters().stream().map(n -> toProfile(monstersByName.get(lowerCase(n)), monsterStatsByCr)).toList();
+        } catch (RuntimeException e) {
+            log.error("Could not build monster combat profiles from the stats table", e);
+            return failure(start, combatSimulationQuery, party, null, "Internal error - Either judge the encounter difficulty yourself or try again later");
+        }
+
+        int simulations = combatSimulationQuery.simulations() != null ? combatSimulationQuery.simulations() : DEFAULT_SIMULATIONS;
+        long seed = combatSimulationQuery.seed() != null ? combatSimulationQuery.seed() : random.nextLong();
+        CombatTally tally = runSimulations(party, monsters, simulations, seed);
+
+        double combats = tally.combats;
+        CombatSimulationResult result = new CombatSimulationResult(combatSimulationQuery, party, monsters, simulations, seed,
+                tally.partyWins / combats, tally.rounds / combats, tally.combatsWithPcDown / combats,
+                tally.pcsDown / combats, tally.totalPartyKills / combats, null);
+
+        toolCallLogger.success(TOOL_NAME, start,
+                () -> "pcs=" + party.size() + " monsters=" + monsters.size() + " sims=" + simulations + " win=" + result.partyWinProbability(),
+                combatSimulationQuery, result);
+        return result;
+    }
+
+
+    private CombatTally runSimulations(List<CombatantProfile> party, List<CombatantProfile> monsters, int simulations, long seed) {
+
+        // structure of arrays: PCs first, then monsters
+        int combatantCount = party.size() + monsters.size();
+        int[] hp = new int[combatantCount];
+        int[] ac = new int[combatantCount];
+        int[] attackBonus = new int[combatantCount];
+        int[] damagePerRound = new int[combatantCount];
+
+        int i = 0;
+        for (CombatantProfile combatant : party) {
+            hp[i] = combatant.hp(); ac[i] = combatant.ac(); attackBonus[i] = combatant.attackBonus(); damagePerRound[i] = combatant.damagePerRound();
+            i++;
+        }
+        for (CombatantProfile combatant : monsters) {
+            hp[i] = combatant.hp(); ac[i] = combatant.ac(); attackBonus[i] = combatant.attackBonus(); damagePerRound[i] = combatant.damagePerRound();
+            i++;
+        }
+
+        return ForkJoinPool.commonPool().invoke(
+                new CombatSimulationTask(hp, ac, attackBonus, damagePerRound, party.size(), simulations, new SplittableRandom(seed)));
+    }
+
+
+    private String validateArgs(CombatSimulationQuery query) {
+
+        // defensive null/empty checks
+        if (query == null || query.party() == null || query.party().isEmpty() || query.monsters() == null || query.monsters().isEmpty()) {
+            return "Combat simulation query must contain a party of PCs and a list of monster names";
+        }
+        if (query.party().size() > MAX_COMBATANTS_PER_SIDE || query.monsters().size() > MAX_COMBATANTS_PER_SIDE) {
+            return "A combat simulation supports at most " + MAX_COMBATANTS_PER_SIDE + " PCs and " + MAX_COMBATANTS_PER_SIDE + " monsters";
+        }
+
+        // PC range is 1-20, supplied stats must be usable
+        boolean partyIsGood = query.party().stream().allMatch(pc -> pc != null && pc.level() >= 1 && pc.level() <= 20
+                && (pc.hp() == null || pc.hp() > 0)
+                && (pc.ac() == null || pc.ac() > 0)
+                && (pc.damagePerRound() == null || pc.damagePerRound() > 0));
+        if (!partyIsGood) {
+            return "Every PC needs a level of 1-20, and any supplied hp, ac or damagePerRound must be positive";
+        }
+        if (query.monsters().stream().anyMatch(Objects::isNull)) {
+            return "Monster names must not be null";
+        }
+        if (query.simulations() != null && (query.simulations() < 1 || query.simulations() > MAX_SIMULATIONS)) {
+            return "Simulations must be between 1 and " + MAX_SIMULATIONS;
+        }
+        return null;
+    }
+
+
+    // typical PC stats by level - roughly a martial character with a +3 primary stat and average HP rolls
+    private CombatantProfile toProfile(PartyMember pc) {
+
+        int proficiency = 2 + (pc.level() - 1) / 4;
+        int ac = pc.ac() != null ? pc.ac() : 15 + pc.level() / 6;
+        int hp = pc.hp() != null ? pc.hp() : 8 * pc.level() + 2;
+        int attackBonus = pc.attackBonus() != null ? pc.attackBonus() : 3 + proficiency;
+        int damagePerRound = pc.damagePerRound() != null ? pc.damagePerRound() : 7 + 2 * pc.level();
+
+        return new CombatantProfile("PC level " + pc.level(), ac, hp, attackBonus, damagePerRound);
+    }
+
+
+    // the monster's own stats win, anything missing comes from the typical stats for its CR
+    private CombatantProfile toProfile(Srd521MonsterCr monster, Map<Integer, List<String>> monsterStatsByCr) {
+
+        List<String> typical = monsterStatsByCr.get(monster.cr());
+        if (typical == null) {
+            throw new IllegalStateException("No typical combat stats for CR " + monster.cr());
+        }
+
+        int ac = monster.ac() != null ? monster.ac() : Integer.parseInt(typical.get(0));
+        int hp = monster.hp() != null ? monster.hp() : Integer.parseInt(typical.get(1));
+        int attackBonus = monster.attackBonus() != null ? monster.attackBonus() : Integer.parseInt(typical.get(2));
+        int damagePerRound = monster.damagePerRound() != null ? monster.damagePerRound() : Integer.parseInt(typical.get(3));
+
+        return new CombatantProfile(monster.name(), ac, hp, attackBonus, damagePerRound);
+    }
+
+
+    private static String lowerCase(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+
+    private CombatSimulationResult failure(long start, CombatSimulationQuery query, List<CombatantProfile> party,
+                                           List<CombatantProfile> monsters, String error) {
+        toolCallLogger.failure(TOOL_NAME, start, query, error);
+        return new CombatSimulationResult(query, party, monsters, null, null, null, null, null, null, null, error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.marcuslull.aigmmcp.tools.combatsimulator;
+
+/**
+ * Running totals of a batch of simulated combats. Each fork-join leaf owns one, and they are merged on the way up.
+ */
+class CombatTally {
+
+    long combats;
+    long partyWins;
+    long rounds;
+    long combatsWithPcDown;
+    long pcsDown;
+    long totalPartyKills;
+
+
+    CombatTally merge(CombatTally other) {
+        combats += other.combats;
+        partyWins += other.partyWins;
+        rounds += other.rounds;
+        combatsWithPcDown += other.combatsWithPcDown;
+        pcsDown += other.pcsDown;
+        totalPartyKills += other.totalPartyKills;
+        return this;
+    }
+}
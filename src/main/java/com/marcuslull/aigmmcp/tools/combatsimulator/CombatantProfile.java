@@ -0,0 +1,10 @@
+package com.marcuslull.aigmmcp.tools.combatsimulator;
+
+public record CombatantProfile(
+        String name,
+        int ac,
+        int hp,
+        int attackBonus,
+        int damagePerRound
+) {
+}
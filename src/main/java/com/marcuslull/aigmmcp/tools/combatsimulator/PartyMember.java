@@ -0,0 +1,10 @@
+package com.marcuslull.aigmmcp.tools.combatsimulator;
+
+public record PartyMember(
+        int level,
+        Integer ac,
+        Integer hp,
+        Integer attackBonus,
+        Integer damagePerRound
+) {
+}
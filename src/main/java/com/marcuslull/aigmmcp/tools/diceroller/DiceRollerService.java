@@ -1,6 +1,6 @@
 package com.marcuslull.aigmmcp.tools.diceroller;
 
-import lombok.extern.slf4j.Slf4j;
+import com.marcuslull.aigmmcp.logging.ToolCallLogger;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Service;
 
@@ -8,14 +8,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
-@Slf4j
 @Service
 public class DiceRollerService {
 
+    private static final String TOOL_NAME = "rollDice";
+
     private final Random random;
+    private final ToolCallLogger toolCallLogger;
 
-    public DiceRollerService(Random random) {
+    public DiceRollerService(Random random, ToolCallLogger toolCallLogger) {
         this.random = random;
+        this.toolCallLogger = toolCallLogger;
     }
 
 
@@ -33,10 +36,10 @@ public class DiceRollerService {
      *         roll results, the sum of all rolls, and an optional error message. If the input is invalid,
      *         the list of rolls will be empty, the total will be zero, and an error message will be present.
      */
-    @Tool(name = "rollDice", description = "Roll some dice by specifying count and die type")
+    @Tool(name = TOOL_NAME, description = "Roll some dice by specifying count and die type")
     public DiceRollResult rollDice(DiceRoll diceRoll) {
 
-        log.info("New dice roll: {}", diceRoll);
+        long start = System.nanoTime();
 
         // TODO logic - Jackson error message on conversion failure
 
@@ -44,8 +47,9 @@ public class DiceRollerService {
         int total = 0;
 
         if (diceRoll == null || diceRoll.diceType() == null || diceRoll.quantity() <= 0) {
-            log.warn("invalid dice roll: {}", diceRoll);
-            return new DiceRollResult(diceRoll, rolls, total, "You must provide a valid dice roll");
+            String error = "You must provide a valid dice roll";
+            toolCallLogger.failure(TOOL_NAME, start, diceRoll, error);
+            return new DiceRollResult(diceRoll, rolls, total, error);
         }
 
         for (int i = 0; i < diceRoll.quantity(); i++) {
@@ -54,7 +58,8 @@ public class DiceRollerService {
             total += roll;
         }
 
-        log.info("Dice roll result: {} = {}", rolls, total);
-        return new DiceRollResult(diceRoll, rolls, total, null);
+        DiceRollResult result = new DiceRollResult(diceRoll, rolls, total, null);
+        toolCallLogger.success(TOOL_NAME, start, () -> diceRoll.quantity() + "x" + diceRoll.diceType() + "=" + result.total(), diceRoll, result);
+        return result;
     }
 }
@@ -0,0 +1,8 @@
+package com.marcuslull.aigmmcp.tools.monstersearch;
+
+public record MonsterMatch(
+        String name,
+        Integer cr,
+        double similarity
+) {
+}
@@ -0,0 +1,100 @@
+package com.marcuslull.aigmmcp.tools.monstersearch;
+
+import com.marcuslull.aigmmcp.data.structured.entities.Srd521MonsterCr;
+import com.marcuslull.aigmmcp.data.structured.repositories.Srd521MonsterCrRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Holds the current {@link MonsterTrigramIndex} over the {@code srd521monstercr} names.
+ * <p>
+ * The index is built once the application is ready and swapped atomically whenever the table changes, so searches
+ * never touch the database. Changes made through this application are picked up from Spring Data's save and delete
+ * events; changes made directly in Postgres are detected by periodically comparing a cheap content fingerprint.
+ * Every successful rebuild publishes a {@link MonsterTableReloadedEvent} with the rows it read.
+ */
+@Slf4j
+@Component
+public class MonsterNameIndex {
+
+    private final Srd521MonsterCrRepository srd521MonsterCrRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile MonsterTrigramIndex index = MonsterTrigramIndex.build(List.of());
+    private volatile String fingerprint;
+
+
+    public MonsterNameIndex(Srd521MonsterCrRepository srd521MonsterCrRepository, ApplicationEventPublisher eventPublisher) {
+        this.srd521MonsterCrRepository = srd521MonsterCrRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+
+    MonsterTrigramIndex current() {
+        return index;
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+
+    @EventListener
+    public void onMonsterSaved(AfterSaveEvent<?> event) {
+        if (event.getEntity() instanceof Srd521MonsterCr) rebuild();
+    }
+
+
+    @EventListener
+    public void onMonsterDeleted(AfterDeleteEvent<?> event) {
+        if (Srd521MonsterCr.class.equals(event.getType())) rebuild();
+    }
+
+
+    @Scheduled(initialDelayString = "${aigm.monster-index.check-interval:PT5M}", fixedDelayString = "${aigm.monster-index.check-interval:PT5M}")
+    public void rebuildIfTableChanged() {
+
+        String current;
+        try {
+            current = srd521MonsterCrRepository.contentFingerprint();
+        } catch (RuntimeException e) {
+            log.warn("Could not fingerprint the monster table, keeping the current index: {}", e.getMessage());
+            return;
+        }
+
+        if (!Objects.equals(current, fingerprint)) {
+            log.info("Monster table changed, rebuilding the name index");
+            rebuild();
+        }
+    }
+
+
+    // synchronized so a scheduled check and a save event can't race two rebuilds
+    synchronized void rebuild() {
+
+        try {
+            String newFingerprint = srd521MonsterCrRepository.contentFingerprint();
+            List<Srd521MonsterCr> monsters = srd521MonsterCrRepository.findAll(Sort.by("name"));
+
+            index = MonsterTrigramIndex.build(monsters);
+            fingerprint = newFingerprint;
+            log.info("Monster name index built with {} monsters", monsters.size());
+            eventPublisher.publishEvent(new MonsterTableReloadedEvent(List.copyOf(monsters)));
+        } catch (RuntimeException e) {
+            // the next scheduled check retries since the fingerprint is unchanged
+            log.error("Could not build the monster name index", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.marcuslull.aigmmcp.tools.monstersearch;
+
+public record MonsterSearchQuery(
+        String name,
+        Integer minCr,
+        Integer maxCr,
+        Integer limit
+) {
+}
@@ -0,0 +1,10 @@
+package com.marcuslull.aigmmcp.tools.monstersearch;
+
+import java.util.List;
+
+public record MonsterSearchResult(
+        MonsterSearchQuery query,
+        List<MonsterMatch> matches,
+        String error
+) {
+}
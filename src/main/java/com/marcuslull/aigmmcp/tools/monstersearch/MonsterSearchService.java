@@ -0,0 +1,86 @@
+package com.marcuslull.aigmmcp.tools.monstersearch;
+
+import com.marcuslull.aigmmcp.logging.ToolCallLogger;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class MonsterSearchService {
+
+    private static final String TOOL_NAME = "monsterSearch";
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    private static final double MIN_SIMILARITY = 0.15;
+
+    private final MonsterNameIndex monsterNameIndex;
+    private final ToolCallLogger toolCallLogger;
+
+
+    public MonsterSearchService(MonsterNameIndex monsterNameIndex, ToolCallLogger toolCallLogger) {
+        this.monsterNameIndex = monsterNameIndex;
+        this.toolCallLogger = toolCallLogger;
+    }
+
+
+    /**
+     * Finds SRD monsters by approximate name, optionally limited to a CR range.
+     * This method is exposed as a tool that can be called by an AI model, as indicated by the {@code @Tool} annotation.
+     * <p>
+     * The search runs entirely against the in-memory {@link MonsterNameIndex}, so misspelled or partial names
+     * (e.g. "ancient blak dragon", "rug of smothering") are answered without a database round trip.
+     * Matches are ranked by trigram similarity, most similar first.
+     * <p>
+     * If the name is blank, the CR range is invalid (outside 0-30 or min above max) or the limit is out of range,
+     * a {@link MonsterSearchResult} with an appropriate error message is returned.
+     *
+     * @param monsterSearchQuery The approximate monster name, an optional inclusive CR range and an optional
+     *                           maximum number of matches (default 10, max 50).
+     * @return A {@link MonsterSearchResult} with the matching monster names, their CR and similarity (0-1),
+     *         and an error message if applicable. An empty match list means nothing was similar enough.
+     */
+    @Tool(name = TOOL_NAME, description = "Look up SRD monsters by approximate or misspelled name, optionally within a CR range")
+    public MonsterSearchResult searchMonsters(MonsterSearchQuery monsterSearchQuery) {
+
+        long start = System.nanoTime();
+
+        String argsError = validateArgs(monsterSearchQuery);
+        if (argsError != null) {
+            toolCallLogger.failure(TOOL_NAME, start, monsterSearchQuery, argsError);
+            return new MonsterSearchResult(monsterSearchQuery, null, argsError);
+        }
+
+        MonsterTrigramIndex index = monsterNameIndex.current();
+        if (index.size() == 0) {
+            String error = "Internal error - The monster index is not available yet, try again later";
+            toolCallLogger.failure(TOOL_NAME, start, monsterSearchQuery, error);
+            return new MonsterSearchResult(monsterSearchQuery, null, error);
+        }
+
+        int limit = monsterSearchQuery.limit() != null ? monsterSearchQuery.limit() : DEFAULT_LIMIT;
+        List<MonsterMatch> matches = index.search(monsterSearchQuery.name(), monsterSearchQuery.minCr(), monsterSearchQuery.maxCr(), MIN_SIMILARITY, limit);
+
+        MonsterSearchResult result = new MonsterSearchResult(monsterSearchQuery, matches, null);
+        toolCallLogger.success(TOOL_NAME, start,
+                () -> "name=\"" + monsterSearchQuery.name() + "\" matches=" + matches.size(), monsterSearchQuery, result);
+        return result;
+    }
+
+
+    private String validateArgs(MonsterSearchQuery query) {
+
+        if (query == null || query.name() == null || query.name().isBlank()) {
+            return "Monster search query must contain a monster name";
+        }
+        if ((query.minCr() != null && (query.minCr() < 0 || query.minCr() > 30))
+                || (query.maxCr() != null && (query.maxCr() < 0 || query.maxCr() > 30))
+                || (query.minCr() != null && query.maxCr() != null && query.minCr() > query.maxCr())) {
+            return "CR range must be within 0-30 with minCr not above maxCr";
+        }
+        if (query.limit() != null && (query.limit() < 1 || query.limit() > MAX_LIMIT)) {
+            return "Limit must be between 1 and " + MAX_LIMIT;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.marcuslull.aigmmcp.tools.monstersearch;
+
+import com.marcuslull.aigmmcp.data.structured.entities.Srd521MonsterCr;
+
+import java.util.List;
+
+/**
+ * Published by {@link MonsterNameIndex} every time it has re-read the monster table, so other in-memory copies
+ * of the table can refresh from the same rows instead of querying Postgres again.
+ *
+ * @param monsters every monster, sorted by name
+ */
+public record MonsterTableReloadedEvent(List<Srd521MonsterCr> monsters) {
+}
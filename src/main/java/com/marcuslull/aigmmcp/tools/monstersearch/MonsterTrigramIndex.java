@@ -0,0 +1,138 @@
+package com.marcuslull.aigmmcp.tools.monstersearch;
+
+import com.marcuslull.aigmmcp.data.structured.entities.Srd521MonsterCr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable trigram index over monster names.
+ * <p>
+ * Names are normalised to lowercase letters, digits and single spaces, and every word is padded like
+ * Postgres' pg_trgm does ({@code "  word "}). Each trigram is encoded as an int over a 37 symbol alphabet,
+ * which addresses the posting lists directly in a flat array - a lookup is an array index, not a hash.
+ * Similarity is the Jaccard index of the two trigram sets, the same measure as pg_trgm's {@code similarity()}.
+ */
+class MonsterTrigramIndex {
+
+    private static final int ALPHABET = 37; // space, a-z, 0-9
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final String[] names;
+    private final Integer[] crs;
+    private final int[] trigramCounts;
+    private final int[][] postings;
+
+
+    private MonsterTrigramIndex(String[] names, Integer[] crs, int[] trigramCounts, int[][] postings) {
+        this.names = names;
+        this.crs = crs;
+        this.trigramCounts = trigramCounts;
+        this.postings = postings;
+    }
+
+
+    static MonsterTrigramIndex build(List<Srd521MonsterCr> monsters) {
+
+        int size = monsters.size();
+        String[] names = new String[size];
+        Integer[] crs = new Integer[size];
+        int[] trigramCounts = new int[size];
+
+        // first pass counts the postings per trigram, second pass fills them in
+        int[][] trigramsByMonster = new int[size][];
+        int[] postingSizes = new int[ALPHABET * ALPHABET * ALPHABET];
+        for (int i = 0; i < size; i++) {
+            Srd521MonsterCr monster = monsters.get(i);
+            names[i] = monster.name();
+            crs[i] = monster.cr();
+            trigramsByMonster[i] = trigrams(monster.name());
+            trigramCounts[i] = trigramsByMonster[i].length;
+            for (int trigram : trigramsByMonster[i]) postingSizes[trigram]++;
+        }
+
+        int[][] postings = new int[postingSizes.length][];
+        for (int i = 0; i < size; i++) {
+            for (int trigram : trigramsByMonster[i]) {
+                if (postings[trigram] == null) postings[trigram] = new int[postingSizes[trigram]];
+                postings[trigram][postings[trigram].length - postingSizes[trigram]--] = i;
+            }
+        }
+
+        return new MonsterTrigramIndex(names, crs, trigramCounts, postings);
+    }
+
+
+    int size() {
+        return names.length;
+    }
+
+
+    /**
+     * Ranks the monsters by name similarity to {@code query}, most similar first.
+     *
+     * @param minCr         lowest CR to include, or null for no lower bound
+     * @param maxCr         highest CR to include, or null for no upper bound
+     * @param minSimilarity matches below this Jaccard similarity are dropped
+     * @param limit         maximum number of matches returned
+     */
+    List<MonsterMatch> search(String query, Integer minCr, Integer maxCr, double minSimilarity, int limit) {
+
+        int[] queryTrigrams = trigrams(query);
+        if (queryTrigrams.length == 0) return List.of();
+
+        int[] shared = new int[names.length];
+        for (int trigram : queryTrigrams) {
+            int[] posting = postings[trigram];
+            for (int monster : posting != null ? posting : NO_POSTINGS) shared[monster]++;
+        }
+
+        List<MonsterMatch> matches = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (shared[i] == 0 || !inCrRange(crs[i], minCr, maxCr)) continue;
+
+            double similarity = shared[i] / (double) (queryTrigrams.length + trigramCounts[i] - shared[i]);
+            if (similarity >= minSimilarity) matches.add(new MonsterMatch(names[i], crs[i], similarity));
+        }
+
+        matches.sort(Comparator.comparingDouble(MonsterMatch::similarity).reversed().thenComparing(MonsterMatch::name));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+
+    private static boolean inCrRange(Integer cr, Integer minCr, Integer maxCr) {
+        if (cr == null) return minCr == null && maxCr == null;
+        return (minCr == null || cr >= minCr) && (maxCr == null || cr <= maxCr);
+    }
+
+
+    // the distinct trigram codes of a name, sorted
+    static int[] trigrams(String text) {
+
+        if (text == null) return new int[0];
+
+        StringBuilder normalised = new StringBuilder(text.length() + 8);
+        for (String word : text.toLowerCase().split("[^a-z0-9]+")) {
+            if (!word.isEmpty()) normalised.append("  ").append(word).append(' ');
+        }
+
+        int[] codes = new int[Math.max(0, normalised.length() - 2)];
+        int count = 0;
+        for (int i = 0; i + 2 < normalised.length(); i++) {
+            char third = normalised.charAt(i + 2);
+            if (third == ' ' && normalised.charAt(i + 1) == ' ') continue; // spans a word boundary
+            codes[count++] = (symbol(normalised.charAt(i)) * ALPHABET + symbol(normalised.charAt(i + 1))) * ALPHABET + symbol(third);
+        }
+
+        return Arrays.stream(codes, 0, count).sorted().distinct().toArray();
+    }
+
+
+    private static int symbol(char c) {
+        if (c == ' ') return 0;
+        if (c >= 'a' && c <= 'z') return 1 + c - 'a';
+        return 27 + c - '0';
+    }
+}
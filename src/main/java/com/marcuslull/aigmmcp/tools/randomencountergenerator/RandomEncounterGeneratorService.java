@@ -3,6 +3,7 @@ package com.marcuslull.aigmmcp.tools.randomencountergenerator;
 import com.marcuslull.aigmmcp.data.csv.CsvParserService;
 import com.marcuslull.aigmmcp.data.structured.entities.Srd521MonsterCr;
 import com.marcuslull.aigmmcp.data.structured.repositories.Srd521MonsterCrRepository;
+import com.marcuslull.aigmmcp.logging.ToolCallLogger;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Service;
@@ -16,14 +17,19 @@ public class RandomEncounterGeneratorService {
     private final CsvParserService csvParserService;
     private final Srd521MonsterCrRepository srd521MonsterCrRepository;
     private final Random random;
+    private final ToolCallLogger toolCallLogger;
 
+    private static final String TOOL_NAME = "randomEncounterGenerator";
     private static final int MIN_MONSTER_XP_THRESHOLD = 200;
+    private static final String INTERNAL_ERROR = "Internal error - Either generate an appropriate encounter yourself or try again later";
 
 
-    public RandomEncounterGeneratorService(CsvParserService csvParserService, Srd521MonsterCrRepository srd521MonsterCrRepository, Random random) {
+    public RandomEncounterGeneratorService(CsvParserService csvParserService, Srd521MonsterCrRepository srd521MonsterCrRepository,
+                                           Random random, ToolCallLogger toolCallLogger) {
         this.csvParserService = csvParserService;
         this.srd521MonsterCrRepository = srd521MonsterCrRepository;
         this.random = random;
+        this.toolCallLogger = toolCallLogger;
     }
 
 
@@ -50,49 +56,51 @@ public class RandomEncounterGeneratorService {
      *         a list of generated monster CRs, a map of CRs to lists of monster names, and an error message if applicable.
      *         If successful, the error field will be null.
      */
-    @Tool(name = "randomEncounterGenerator", description = "Generate a random monster encounter based on PC levels and difficulty.")
+    @Tool(name = TOOL_NAME, description = "Generate a random monster encounter based on PC levels and difficulty.")
     public EncounterGenerationResult generateEncounter(EncounterGenerationQuery encounterGenerationQuery) {
 
-        log.info("Generating a random encounter: {}", encounterGenerationQuery);
+        long start = System.nanoTime();
 
         // receive args
         if (!argsAreGood(encounterGenerationQuery)) {
-            log.warn("invalid random encounter args: {}", encounterGenerationQuery);
-            return new EncounterGenerationResult(encounterGenerationQuery, null, null, null,
-                    "Encounter query must be an array of PC levels 1-20 and a difficulty level - L (low), M (Moderate), H (Hard).");
+            String error = "Encounter query must be an array of PC levels 1-20 and a difficulty level - L (low), M (Moderate), H (Hard).";
+            toolCallLogger.failure(TOOL_NAME, start, encounterGenerationQuery, error);
+            return new EncounterGenerationResult(encounterGenerationQuery, null, null, null, error);
         }
 
         // calculate encounter budget
         int budget = calculateEncounterBudget(encounterGenerationQuery);
         if (budget == -1) {
             log.error("Budget returned -1 which is indicative of a CSV parsing issue");
-            return new EncounterGenerationResult(encounterGenerationQuery, budget, null, null,
-                    "Internal error - Either generate an appropriate encounter yourself or try again later");
+            toolCallLogger.failure(TOOL_NAME, start, encounterGenerationQuery, INTERNAL_ERROR);
+            return new EncounterGenerationResult(encounterGenerationQuery, budget, null, null, INTERNAL_ERROR);
         }
         if (budget < MIN_MONSTER_XP_THRESHOLD) {
-            log.warn("Random encounter budget was less than min threshold. A random encounter will not be generated.");
-            return new EncounterGenerationResult(encounterGenerationQuery, budget, null, null,
-                    "The total party level is too low to meet the minimum random encounter threshold. You should carefully plan encounter for this weak group of PCs.");
+            String error = "The total party level is too low to meet the minimum random encounter threshold. You should carefully plan encounter for this weak group of PCs.";
+            toolCallLogger.failure(TOOL_NAME, start, encounterGenerationQuery, error);
+            return new EncounterGenerationResult(encounterGenerationQuery, budget, null, null, error);
         }
 
         // calculate random CRs from budget
         List<Integer> crList = generateRandomCrListFromBudget(budget);
         if (crList == null || crList.isEmpty()) {
             log.error("CR list is empty when it should be populated: Budget - {}, CRList - {}", budget, crList);
-            return new EncounterGenerationResult(encounterGenerationQuery, budget, crList,null,
-                    "Internal error - Either generate an appropriate encounter yourself or try again later");
+            toolCallLogger.failure(TOOL_NAME, start, encounterGenerationQuery, INTERNAL_ERROR);
+            return new EncounterGenerationResult(encounterGenerationQuery, budget, crList, null, INTERNAL_ERROR);
         }
 
         // fetch monsters based on CRs
         Map<Integer, List<String>> monsterList = getMonsterListsByCr(crList);
         if (monsterList.isEmpty()) {
             log.error("Monster list is empty when it should be populated: CRList - {}, MonsterList - {}", crList, monsterList);
-            return new EncounterGenerationResult(encounterGenerationQuery, budget, crList, monsterList,
-                    "Internal error - Either generate an appropriate encounter yourself or try again later");
+            toolCallLogger.failure(TOOL_NAME, start, encounterGenerationQuery, INTERNAL_ERROR);
+            return new EncounterGenerationResult(encounterGenerationQuery, budget, crList, monsterList, INTERNAL_ERROR);
         }
 
-        log.info("Random encounter generated successfully: CRList - {}, MonsterList - {}", crList, monsterList);
-        return new EncounterGenerationResult(encounterGenerationQuery, budget, crList, monsterList, null);
+        EncounterGenerationResult result = new EncounterGenerationResult(encounterGenerationQuery, budget, crList, monsterList, null);
+        // the monster map is large, the compact event only carries the budget and the CRs
+        toolCallLogger.success(TOOL_NAME, start, () -> "budget=" + budget + " crs=" + crList, encounterGenerationQuery, result);
+        return result;
     }
 
 
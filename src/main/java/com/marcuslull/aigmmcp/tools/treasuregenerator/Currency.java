@@ -0,0 +1,28 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+@Getter
+public enum Currency {
+    CP(1),
+    SP(10),
+    EP(50),
+    GP(100),
+    PP(1000);
+
+    private final int copperValue;
+
+    Currency(int copperValue) {
+        this.copperValue = copperValue;
+    }
+
+    public static Currency fromString(String currencyString) {
+        return Arrays.stream(values())
+                .filter(c -> c.name().equals(Objects.requireNonNull(currencyString).toUpperCase()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
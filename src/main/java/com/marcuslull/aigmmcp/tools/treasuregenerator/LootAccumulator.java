@@ -0,0 +1,54 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects rolled loot from one or more {@link TreasureTemplate}s and totals it up.
+ */
+class LootAccumulator {
+
+    private final Map<Currency, Long> coins = new EnumMap<>(Currency.class);
+    private final List<LootItem> items = new ArrayList<>();
+    private final List<String> notes = new ArrayList<>();
+
+
+    void addCoins(Currency currency, long amount) {
+        coins.merge(currency, amount, Long::sum);
+    }
+
+
+    void addItem(String name, int quantity, Integer unitValueGp) {
+        if (quantity > 0) items.add(new LootItem(name, quantity, unitValueGp));
+    }
+
+
+    void addNote(String note) {
+        notes.add(note);
+    }
+
+
+    void addAll(ResolvedTreasure resolvedTreasure) {
+        resolvedTreasure.coins().forEach(this::addCoins);
+        items.addAll(resolvedTreasure.items());
+        notes.addAll(resolvedTreasure.notes());
+    }
+
+
+    ResolvedTreasure toResolvedTreasure() {
+
+        long coinCopper = coins.entrySet().stream()
+                .mapToLong(e -> e.getValue() * e.getKey().getCopperValue())
+                .sum();
+        long itemGp = items.stream()
+                .filter(i -> i.unitValueGp() != null)
+                .mapToLong(i -> (long) i.quantity() * i.unitValueGp())
+                .sum();
+
+        double coinValueGp = coinCopper / (double) Currency.GP.getCopperValue();
+        return new ResolvedTreasure(new EnumMap<>(coins), coinValueGp, List.copyOf(items), itemGp,
+                coinValueGp + itemGp, List.copyOf(notes));
+    }
+}
@@ -0,0 +1,8 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+public record LootItem(
+        String name,
+        int quantity,
+        Integer unitValueGp
+) {
+}
@@ -0,0 +1,14 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import java.util.List;
+import java.util.Map;
+
+public record ResolvedTreasure(
+        Map<Currency, Long> coins,
+        double coinValueGp,
+        List<LootItem> items,
+        double itemValueGp,
+        double totalValueGp,
+        List<String> notes
+) {
+}
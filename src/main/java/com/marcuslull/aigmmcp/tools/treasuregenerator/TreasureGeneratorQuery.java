@@ -2,6 +2,7 @@ package com.marcuslull.aigmmcp.tools.treasuregenerator;
 
 public record TreasureGeneratorQuery(
         int cr,
-        TreasureDisposition disposition
+        TreasureDisposition disposition,
+        boolean resolve
 ) {
 }
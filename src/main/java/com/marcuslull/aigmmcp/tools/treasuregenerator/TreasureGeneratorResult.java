@@ -3,6 +3,7 @@ package com.marcuslull.aigmmcp.tools.treasuregenerator;
 public record TreasureGeneratorResult(
         TreasureGeneratorQuery query,
         String result,
+        ResolvedTreasure resolved,
         String error
 ) {
 }
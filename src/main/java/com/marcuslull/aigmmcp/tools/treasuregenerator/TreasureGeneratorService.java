@@ -1,21 +1,34 @@
 package com.marcuslull.aigmmcp.tools.treasuregenerator;
 
 import com.marcuslull.aigmmcp.data.csv.CsvParserService;
+import com.marcuslull.aigmmcp.logging.ToolCallLogger;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 @Slf4j
 @Service
 public class TreasureGeneratorService {
 
+    private static final String TOOL_NAME = "treasureGenerator";
+    private static final String HOARD_TOOL_NAME = "treasureHoardGenerator";
+    private static final int MAX_HOARD_SIZE = 50;
+
     private final CsvParserService csvParserService;
+    private final ToolCallLogger toolCallLogger;
+    private final Random random;
+
+    private volatile Map<Integer, List<TreasureTemplate>> compiledTreasureTable;
 
-    public TreasureGeneratorService(CsvParserService csvParserService) {
+    public TreasureGeneratorService(CsvParserService csvParserService, ToolCallLogger toolCallLogger, Random random) {
         this.csvParserService = csvParserService;
+        this.toolCallLogger = toolCallLogger;
+        this.random = random;
     }
 
     /**
@@ -35,27 +48,90 @@ public class TreasureGeneratorService {
      * a {@link TreasureGeneratorResult} with an error message indicating an internal server error is returned.
      * <p>
      * Finally, it uses the CR bucket and the ordinal value of the {@link TreasureDisposition} enum
-     * to look up the specific treasure string from the table.
+     * to look up the specific treasure string from the table. When {@code resolve} is set, the cell's precompiled
+     * {@link TreasureTemplate} is also rolled, returning concrete coins, items and gp totals in {@link ResolvedTreasure}.
      *
      * @param treasureGeneratorQuery An object encapsulating the treasure generation parameters:
      *                               the Challenge Rating (CR) of the encounter or party level,
-     *                               and the desired {@link TreasureDisposition}.
+     *                               the desired {@link TreasureDisposition}, and whether to resolve the dice.
      * @return A {@link TreasureGeneratorResult} object containing the original {@code treasureGeneratorQuery},
-     *         the generated treasure string, and an optional error message.
+     *         the generated treasure string, the resolved treasure if requested, and an optional error message.
      *         If the input is invalid or an internal error occurs (e.g., table parsing issues),
      *         the treasure string will be null, and an error message will be present.
      *         Otherwise, the treasure string will be populated, and the error message will be null.
      */
-    @Tool(name = "treasureGenerator", description = "Generate treasure based on PC level and treasure disposition")
+    @Tool(name = TOOL_NAME, description = "Generate treasure based on PC level and treasure disposition. Set resolve to true to get the treasure already rolled into coins and items")
     public TreasureGeneratorResult generateTreasure(TreasureGeneratorQuery treasureGeneratorQuery) {
 
         // TODO logic - Jackson error message on conversion failure
 
-        log.info("New treasure generator query: {}", treasureGeneratorQuery);
+        long start = System.nanoTime();
+
+        TreasureGeneratorResult treasureGeneratorResult = lookUpTreasure(treasureGeneratorQuery, treasureGeneratorQuery != null && treasureGeneratorQuery.resolve());
+        if (treasureGeneratorResult.error() != null) {
+            toolCallLogger.failure(TOOL_NAME, start, treasureGeneratorQuery, treasureGeneratorResult.error());
+            return treasureGeneratorResult;
+        }
+
+        toolCallLogger.success(TOOL_NAME, start,
+                () -> "cr=" + treasureGeneratorQuery.cr() + " " + treasureGeneratorQuery.disposition()
+                        + (treasureGeneratorResult.resolved() != null ? " gp=" + treasureGeneratorResult.resolved().totalValueGp() : ""),
+                treasureGeneratorQuery, treasureGeneratorResult);
+        return treasureGeneratorResult;
+    }
+
+
+    /**
+     * Generates and resolves the treasure for several monsters or treasure sources in a single call.
+     * This method is exposed as a tool that can be called by an AI model, as indicated by the {@code @Tool} annotation.
+     * <p>
+     * Every entry of the {@link TreasureHoardQuery} is validated and resolved exactly like
+     * {@link #generateTreasure(TreasureGeneratorQuery)} with {@code resolve} set, and the rolled coins and items
+     * are then combined into one total. If any entry is invalid no treasure is generated and the error of the
+     * first invalid entry is returned.
+     *
+     * @param treasureHoardQuery A list of CR and {@link TreasureDisposition} pairs, one per treasure source (1-50 entries).
+     * @return A {@link TreasureHoardResult} with the resolved treasure of each entry, the combined total,
+     *         and an error message if the query was invalid or the treasure table could not be loaded.
+     */
+    @Tool(name = HOARD_TOOL_NAME, description = "Generate and roll the treasure for several monsters or treasure sources at once, returning coins and items with a combined total")
+    public TreasureHoardResult generateTreasureHoard(TreasureHoardQuery treasureHoardQuery) {
+
+        long start = System.nanoTime();
+
+        if (treasureHoardQuery == null || treasureHoardQuery.treasures() == null || treasureHoardQuery.treasures().isEmpty()
+                || treasureHoardQuery.treasures().size() > MAX_HOARD_SIZE) {
+            String error = "TreasureHoardQuery must contain between 1 and " + MAX_HOARD_SIZE + " treasure queries";
+            toolCallLogger.failure(HOARD_TOOL_NAME, start, treasureHoardQuery, error);
+            return new TreasureHoardResult(treasureHoardQuery, null, null, error);
+        }
+
+        List<TreasureGeneratorResult> treasures = new ArrayList<>(treasureHoardQuery.treasures().size());
+        LootAccumulator hoard = new LootAccumulator();
+        for (TreasureGeneratorQuery treasureGeneratorQuery : treasureHoardQuery.treasures()) {
+
+            TreasureGeneratorResult treasure = lookUpTreasure(treasureGeneratorQuery, true);
+            if (treasure.error() != null) {
+                toolCallLogger.failure(HOARD_TOOL_NAME, start, treasureHoardQuery, treasure.error());
+                return new TreasureHoardResult(treasureHoardQuery, null, null, treasure.error());
+            }
+
+            treasures.add(treasure);
+            hoard.addAll(treasure.resolved());
+        }
+
+        TreasureHoardResult treasureHoardResult = new TreasureHoardResult(treasureHoardQuery, treasures, hoard.toResolvedTreasure(), null);
+        toolCallLogger.success(HOARD_TOOL_NAME, start,
+                () -> "sources=" + treasures.size() + " gp=" + treasureHoardResult.total().totalValueGp(),
+                treasureHoardQuery, treasureHoardResult);
+        return treasureHoardResult;
+    }
+
+
+    private TreasureGeneratorResult lookUpTreasure(TreasureGeneratorQuery treasureGeneratorQuery, boolean resolve) {
 
         if (treasureGeneratorQuery == null || treasureGeneratorQuery.cr() < 1 || treasureGeneratorQuery.cr() > 30 || treasureGeneratorQuery.disposition() == null) {
-            log.warn("Treasure generator query is malformed: {}", treasureGeneratorQuery);
-            return new TreasureGeneratorResult(treasureGeneratorQuery, null, "TreasureGeneratorQuery is malformed");
+            return new TreasureGeneratorResult(treasureGeneratorQuery, null, null, "TreasureGeneratorQuery is malformed");
         }
 
         // cr is bucketized in the treasure table
@@ -63,21 +139,42 @@ public class TreasureGeneratorService {
         try {
             bucket = mapCrToBucket(treasureGeneratorQuery.cr());
         } catch (RuntimeException e) {
-            log.warn(e.getMessage());
-            return new TreasureGeneratorResult(treasureGeneratorQuery, null, e.getMessage());
+            return new TreasureGeneratorResult(treasureGeneratorQuery, null, null, e.getMessage());
         }
 
-        Map<Integer, List<String>> treasureTable = csvParserService.getTreasureTable();
-        if (treasureTable == null || treasureTable.isEmpty()) {
+        Map<Integer, List<TreasureTemplate>> compiledTable = getCompiledTreasureTable();
+        if (compiledTable.isEmpty()) {
             log.error("Error in parsing the treasure table");
-            return new TreasureGeneratorResult(treasureGeneratorQuery, null, "Internal error in parsing the treasure table. Generate your own treasure or try again later");
+            return new TreasureGeneratorResult(treasureGeneratorQuery, null, null, "Internal error in parsing the treasure table. Generate your own treasure or try again later");
         }
 
         // dispositions are ordered so use enum ordinal as index
-        String result = treasureTable.get(bucket).get(treasureGeneratorQuery.disposition().ordinal());
+        TreasureTemplate template = compiledTable.get(bucket).get(treasureGeneratorQuery.disposition().ordinal());
+        if (!resolve) {
+            return new TreasureGeneratorResult(treasureGeneratorQuery, template.source(), null, null);
+        }
+
+        LootAccumulator loot = new LootAccumulator();
+        template.roll(random, loot);
+        return new TreasureGeneratorResult(treasureGeneratorQuery, template.source(), loot.toResolvedTreasure(), null);
+    }
+
+
+    // compiled once, right after the treasure table is first loaded
+    private Map<Integer, List<TreasureTemplate>> getCompiledTreasureTable() {
+
+        Map<Integer, List<TreasureTemplate>> compiled = compiledTreasureTable;
+        if (compiled != null) return compiled;
+
+        Map<Integer, List<String>> treasureTable = csvParserService.getTreasureTable();
+        if (treasureTable == null || treasureTable.isEmpty()) {
+            return Map.of(); // not cached so a later call can retry
+        }
 
-        log.info("Treasure generation completed successfully: {}", result);
-        return new TreasureGeneratorResult(treasureGeneratorQuery, result, null);
+        compiled = TreasureTemplateCompiler.compileTable(treasureTable);
+        log.info("Compiled {} treasure table cells into loot templates", compiled.values().stream().mapToInt(List::size).sum());
+        compiledTreasureTable = compiled;
+        return compiled;
     }
 
 
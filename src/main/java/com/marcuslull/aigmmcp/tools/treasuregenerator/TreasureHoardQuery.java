@@ -0,0 +1,8 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import java.util.List;
+
+public record TreasureHoardQuery(
+        List<TreasureGeneratorQuery> treasures
+) {
+}
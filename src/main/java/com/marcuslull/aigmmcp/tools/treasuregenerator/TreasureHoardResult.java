@@ -0,0 +1,11 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import java.util.List;
+
+public record TreasureHoardResult(
+        TreasureHoardQuery query,
+        List<TreasureGeneratorResult> treasures,
+        ResolvedTreasure total,
+        String error
+) {
+}
@@ -0,0 +1,82 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A treasure table cell compiled into rollable terms, see {@link TreasureTemplateCompiler}.
+ * Each sentence of the cell becomes one {@link Segment}; rolling the template walks the segments once.
+ *
+ * @param source   the original cell text
+ * @param segments the compiled sentences of the cell
+ */
+record TreasureTemplate(
+        String source,
+        List<Segment> segments
+) {
+
+    void roll(Random random, LootAccumulator accumulator) {
+        for (Segment segment : segments) {
+            segment.roll(random, accumulator);
+        }
+    }
+
+
+    /**
+     * One sentence of a cell. {@code chancePercent} gates the whole sentence, then one of the {@code options} is
+     * picked at random - most sentences have a single option, "X OR Y" sentences have one per choice.
+     */
+    record Segment(int chancePercent, List<Option> options) {
+
+        void roll(Random random, LootAccumulator accumulator) {
+            if (chancePercent < 100 && random.nextInt(100) >= chancePercent) return;
+
+            Option option = options.size() == 1 ? options.getFirst() : options.get(random.nextInt(options.size()));
+            option.roll(random, accumulator);
+        }
+    }
+
+
+    /**
+     * Everything one choice of a sentence hands out: coin terms, item picks and flavour text kept as notes.
+     */
+    record Option(List<CoinTerm> coins, List<ItemTerm> items, List<String> notes) {
+
+        void roll(Random random, LootAccumulator accumulator) {
+            for (CoinTerm coin : coins) {
+                accumulator.addCoins(coin.currency(), coin.amount().roll(random));
+            }
+            for (ItemTerm item : items) {
+                accumulator.addItem(item.name(), (int) item.quantity().roll(random), item.unitValueGp());
+            }
+            for (String note : notes) {
+                accumulator.addNote(note);
+            }
+        }
+    }
+
+
+    record CoinTerm(Dice amount, Currency currency) {
+    }
+
+
+    record ItemTerm(Dice quantity, String name, Integer unitValueGp) {
+    }
+
+
+    /**
+     * {@code count}d{@code sides} x {@code multiplier}. A fixed amount is stored with {@code sides == 0}.
+     */
+    record Dice(int count, int sides, int multiplier) {
+
+        long roll(Random random) {
+            if (sides == 0) return (long) count * multiplier;
+
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += random.nextInt(sides) + 1;
+            }
+            return total * multiplier;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles the free text cells of {@code treasureTable.csv} into {@link TreasureTemplate}s so a treasure request
+ * can be rolled in one pass instead of the model making follow-up dice calls.
+ * <p>
+ * Cells are split into sentences. A sentence may start with {@code 25% chance of ...}, which gates the rest of it,
+ * and may offer a choice - {@code X OR Y}, or {@code X or Y} when Y starts with a quantity - of which one is rolled.
+ * Each choice is then split into terms at every {@code and <quantity>}, every {@code plus} and before every dice expression, so
+ * {@code 2d100 sp 1d100 gp}, {@code 1 Rare Weapon and 1 Rare Armor} and
+ * {@code 2 Legendary permanent items 1d6 Very Rare consumables} all become separate terms. Each term is one of:
+ * <ul>
+ *     <li>{@code 1d4x100 pp} - coins, followed by an optional valuable ({@code and jewelry 500 gp}) or note</li>
+ *     <li>{@code 1d4 minor gems 10 gp}, {@code a silver locket 15 gp} - valuables with a per item gp value</li>
+ *     <li>{@code 1d4 Common Potions or Scrolls}, {@code A Very Rare consumable} - item picks with a quantity</li>
+ *     <li>anything else (e.g. {@code Standard gear}, {@code a pouch containing},
+ *     {@code A literal pile of gold and platinum}) - kept as a note</li>
+ * </ul>
+ */
+final class TreasureTemplateCompiler {
+
+    private static final String DICE = "\\d+d\\d+(?:x\\d+)?|\\d+";
+    private static final String RARITY = "Common|Uncommon|Very Rare|Rare|Legendary|Artifact";
+
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("\\.\\s+");
+    private static final Pattern CHANCE = Pattern.compile("^(\\d+)% chance of (.+)$");
+    // "OR" always separates choices, "or" only when a new quantity follows - "Potion or Scroll" is one pick
+    private static final Pattern CHOICE_SPLIT = Pattern.compile("\\s+OR\\s+|\\s+or\\s+(?=(?:" + DICE + ")\\s)");
+    private static final Pattern TERM_SPLIT = Pattern.compile("\\s+and\\s+(?=(?:" + DICE + ")\\s)|\\s+plus\\s+|\\s+(?=\\d+d\\d+)");
+    private static final Pattern COINS = Pattern.compile("^(" + DICE + ")\\s+(cp|sp|ep|gp|pp)\\b\\s*(?:and\\s+)?(.*)$");
+    private static final Pattern COUNTED_VALUABLE = Pattern.compile("^(" + DICE + ") (.+?) (\\d+) gp$");
+    private static final Pattern SINGLE_VALUABLE = Pattern.compile("^(?:(?:A single|A|An|a|an) )?(.+?) (\\d+) gp$");
+    private static final Pattern COUNTED_ITEM = Pattern.compile("^(" + DICE + ") (.+)$");
+    private static final Pattern SINGLE_ITEM = Pattern.compile("^(?:A single|A|An|a|an) ((?:" + RARITY + ") .+)$");
+    private static final Pattern BARE_RARITY = Pattern.compile("^(?:" + RARITY + ")$");
+    private static final Pattern LEADING_RARITY = Pattern.compile("^(?:" + RARITY + ")\\s+(.+)$");
+    private static final Pattern TRAILING_CONNECTOR = Pattern.compile("\\s+(?:in the form of|with|containing|in|of)$");
+    private static final Pattern DICE_PARTS = Pattern.compile("^(\\d+)(?:d(\\d+))?(?:x(\\d+))?$");
+
+    private static final TreasureTemplate.Dice ONE = new TreasureTemplate.Dice(1, 0, 1);
+
+
+    private TreasureTemplateCompiler() {
+    }
+
+
+    /**
+     * Compiles every cell of the parsed treasure table, keeping the CR bucket keys and disposition order.
+     */
+    static Map<Integer, List<TreasureTemplate>> compileTable(Map<Integer, List<String>> treasureTable) {
+        return treasureTable.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue().stream().map(TreasureTemplateCompiler::compile).toList()));
+    }
+
+
+    static TreasureTemplate compile(String cell) {
+
+        List<TreasureTemplate.Segment> segments = new ArrayList<>();
+        for (String sentence : SENTENCE_SPLIT.split(cell.trim())) {
+            if (!sentence.isBlank()) segments.add(compileSentence(sentence.trim()));
+        }
+        return new TreasureTemplate(cell, List.copyOf(segments));
+    }
+
+
+    private static TreasureTemplate.Segment compileSentence(String sentence) {
+
+        int chance = 100;
+        Matcher chanceMatcher = CHANCE.matcher(sentence);
+        if (chanceMatcher.matches()) {
+            chance = Integer.parseInt(chanceMatcher.group(1));
+            sentence = chanceMatcher.group(2);
+        }
+
+        List<TreasureTemplate.Option> options = new ArrayList<>();
+        for (String choice : CHOICE_SPLIT.split(sentence)) {
+            options.add(compileOption(choice.trim()));
+        }
+        return new TreasureTemplate.Segment(chance, List.copyOf(options));
+    }
+
+
+    private static TreasureTemplate.Option compileOption(String choice) {
+
+        List<TreasureTemplate.CoinTerm> coins = new ArrayList<>();
+        List<TreasureTemplate.ItemTerm> items = new ArrayList<>();
+        List<String> notes = new ArrayList<>();
+
+        for (String term : TERM_SPLIT.split(choice)) {
+            term = term.trim();
+            if (term.isEmpty()) continue;
+
+            Matcher coinMatcher = COINS.matcher(term);
+            if (coinMatcher.matches()) {
+                coins.add(new TreasureTemplate.CoinTerm(parseDice(coinMatcher.group(1)), Currency.fromString(coinMatcher.group(2))));
+                // "8d100 gp and jewelry 500 gp" - whatever follows the coins is a term of its own
+                term = coinMatcher.group(3).trim();
+                if (term.isEmpty()) continue;
+            }
+            compileTerm(term, items, notes);
+        }
+
+        shareItemNames(items);
+        return new TreasureTemplate.Option(List.copyOf(coins), List.copyOf(items), List.copyOf(notes));
+    }
+
+
+    private static void compileTerm(String term, List<TreasureTemplate.ItemTerm> items, List<String> notes) {
+
+        Matcher matcher = COUNTED_VALUABLE.matcher(term);
+        if (matcher.matches()) {
+            items.add(new TreasureTemplate.ItemTerm(parseDice(matcher.group(1)), matcher.group(2), Integer.valueOf(matcher.group(3))));
+            return;
+        }
+
+        matcher = SINGLE_VALUABLE.matcher(term);
+        if (matcher.matches()) {
+            items.add(new TreasureTemplate.ItemTerm(ONE, matcher.group(1), Integer.valueOf(matcher.group(2))));
+            return;
+        }
+
+        matcher = COUNTED_ITEM.matcher(term);
+        if (matcher.matches()) {
+            items.add(new TreasureTemplate.ItemTerm(parseDice(matcher.group(1)), matcher.group(2), null));
+            return;
+        }
+
+        matcher = SINGLE_ITEM.matcher(term);
+        if (matcher.matches()) {
+            items.add(new TreasureTemplate.ItemTerm(ONE, matcher.group(1), null));
+            return;
+        }
+
+        // "a pouch containing" keeps "a pouch" as a note so the model knows where the coins are
+        String note = TRAILING_CONNECTOR.matcher(term).replaceAll("");
+        if (!note.isEmpty()) notes.add(note);
+    }
+
+
+    // "1 Legendary and 1 Very Rare permanent item" - the bare rarity borrows the item kind of the term after it
+    private static void shareItemNames(List<TreasureTemplate.ItemTerm> items) {
+
+        for (int i = items.size() - 2; i >= 0; i--) {
+            TreasureTemplate.ItemTerm item = items.get(i);
+            Matcher next = LEADING_RARITY.matcher(items.get(i + 1).name());
+            if (BARE_RARITY.matcher(item.name()).matches() && next.matches()) {
+                items.set(i, new TreasureTemplate.ItemTerm(item.quantity(), item.name() + " " + next.group(1), item.unitValueGp()));
+            }
+        }
+    }
+
+
+    // "3d8x100" -> 3 d8 x100, "2" -> fixed 2
+    private static TreasureTemplate.Dice parseDice(String dice) {
+        Matcher matcher = DICE_PARTS.matcher(dice);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a dice expression: " + dice);
+        }
+        int count = Integer.parseInt(matcher.group(1));
+        int sides = matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2));
+        int multiplier = matcher.group(3) == null ? 1 : Integer.parseInt(matcher.group(3));
+        return new TreasureTemplate.Dice(count, sides, multiplier);
+    }
+}
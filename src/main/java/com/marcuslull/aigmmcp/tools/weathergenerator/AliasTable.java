@@ -0,0 +1,59 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Vose's alias method over a small discrete distribution: built once in O(n), sampled in O(1) with one
+ * bounded int and one double, no matter how skewed the weights are.
+ */
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+
+    AliasTable(double[] weights) {
+
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0) throw new IllegalArgumentException("Negative weight " + weight);
+            total += weight;
+        }
+        if (total <= 0) throw new IllegalArgumentException("Weights must not all be zero");
+
+        probability = new double[n];
+        alias = new int[n];
+
+        // scaled so the average column holds exactly 1.0
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+        // whatever is left is 1.0 give or take rounding
+        while (largeCount > 0) probability[large[--largeCount]] = 1.0;
+        while (smallCount > 0) probability[small[--smallCount]] = 1.0;
+    }
+
+
+    int sample(SplittableRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
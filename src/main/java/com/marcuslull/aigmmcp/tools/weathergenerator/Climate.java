@@ -0,0 +1,19 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public enum Climate {
+    ARCTIC,
+    TEMPERATE,
+    TROPICAL,
+    ARID;
+
+
+    public static Climate fromString(String climateString) {
+        return Arrays.stream(values())
+                .filter(c -> c.name().equals(Objects.requireNonNull(climateString).toUpperCase()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,19 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public enum Season {
+    SPRING,
+    SUMMER,
+    AUTUMN,
+    WINTER;
+
+
+    public static Season fromString(String seasonString) {
+        return Arrays.stream(values())
+                .filter(s -> s.name().equals(Objects.requireNonNull(seasonString).toUpperCase()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,71 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The compiled Markov chain for one climate and season: an alias table per current weather for tomorrow's weather,
+ * plus one over the chain's long-run distribution for picking the first day when the caller doesn't know it.
+ */
+final class WeatherChain {
+
+    private static final int STATIONARY_ITERATIONS = 200;
+
+    private final AliasTable[] transitions;
+    private final AliasTable initial;
+
+
+    /**
+     * @param weights weights[from][to], one row per {@link WeatherState} in ordinal order
+     */
+    WeatherChain(double[][] weights) {
+
+        transitions = new AliasTable[weights.length];
+        for (int from = 0; from < weights.length; from++) {
+            transitions[from] = new AliasTable(weights[from]);
+        }
+        initial = new AliasTable(stationaryDistribution(weights));
+    }
+
+
+    /**
+     * Walks the chain into a primitive buffer, one {@link WeatherState} ordinal per day.
+     *
+     * @param firstDay the first day's weather ordinal, or -1 to draw it from the long-run distribution
+     */
+    byte[] generate(int days, int firstDay, SplittableRandom random) {
+
+        byte[] chain = new byte[days];
+        int state = firstDay >= 0 ? firstDay : initial.sample(random);
+        chain[0] = (byte) state;
+        for (int day = 1; day < days; day++) {
+            state = transitions[state].sample(random);
+            chain[day] = (byte) state;
+        }
+        return chain;
+    }
+
+
+    // power iteration from a uniform start - plenty for a handful of states with self-transitions
+    private static double[] stationaryDistribution(double[][] weights) {
+
+        int n = weights.length;
+        double[][] matrix = new double[n][n];
+        for (int from = 0; from < n; from++) {
+            double total = 0;
+            for (double weight : weights[from]) total += weight;
+            for (int to = 0; to < n; to++) matrix[from][to] = weights[from][to] / total;
+        }
+
+        double[] distribution = new double[n];
+        Arrays.fill(distribution, 1.0 / n);
+        for (int iteration = 0; iteration < STATIONARY_ITERATIONS; iteration++) {
+            double[] next = new double[n];
+            for (int from = 0; from < n; from++) {
+                for (int to = 0; to < n; to++) next[to] += distribution[from] * matrix[from][to];
+            }
+            distribution = next;
+        }
+        return distribution;
+    }
+}
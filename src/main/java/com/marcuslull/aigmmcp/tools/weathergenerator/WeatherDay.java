@@ -0,0 +1,8 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+public record WeatherDay(
+        int day,
+        WeatherState weather,
+        String description
+) {
+}
@@ -0,0 +1,10 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+public record WeatherForecastQuery(
+        Climate climate,
+        Season season,
+        int days,
+        WeatherState currentWeather,
+        Long seed
+) {
+}
@@ -0,0 +1,13 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import java.util.List;
+import java.util.Map;
+
+public record WeatherForecastResult(
+        WeatherForecastQuery query,
+        Long seed,
+        List<WeatherDay> forecast,
+        Map<WeatherState, Integer> daysByWeather,
+        String error
+) {
+}
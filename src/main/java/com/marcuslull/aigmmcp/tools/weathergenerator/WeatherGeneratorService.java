@@ -0,0 +1,141 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import com.marcuslull.aigmmcp.data.csv.CsvParserService;
+import com.marcuslull.aigmmcp.logging.ToolCallLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Slf4j
+@Service
+public class WeatherGeneratorService {
+
+    private static final String TOOL_NAME = "weatherGenerator";
+    private static final int MAX_DAYS = 90;
+
+    private final CsvParserService csvParserService;
+    private final ToolCallLogger toolCallLogger;
+    private final Random random;
+
+    private volatile WeatherModel weatherModel;
+
+
+    public WeatherGeneratorService(CsvParserService csvParserService, ToolCallLogger toolCallLogger, Random random) {
+        this.csvParserService = csvParserService;
+        this.toolCallLogger = toolCallLogger;
+        this.random = random;
+    }
+
+
+    /**
+     * Generates a day-by-day weather forecast for a climate and season.
+     * This method is exposed as a tool that can be called by an AI model, as indicated by the {@code @Tool} annotation.
+     * <p>
+     * The weather follows a Markov chain: tomorrow's weather depends only on today's, weighted by the climate and
+     * season rows of {@code weatherTransitions.csv} (see {@link CsvParserService#getWeatherTransitionTable()}).
+     * The table is compiled once into alias tables, see {@link WeatherChain}, so every simulated day costs two
+     * random draws and a month of weather costs about as much as a dice roll.
+     * <p>
+     * The process involves:
+     * <ol>
+     *     <li>Validating the query (climate and season present, 1-90 days).</li>
+     *     <li>Compiling the transition table on first use.</li>
+     *     <li>Walking the chain from the current weather, or from a typical day for the season if none is given.</li>
+     * </ol>
+     * The season does not change during the forecast. If any step fails (e.g., invalid input, a broken transition table),
+     * a {@link WeatherForecastResult} with an appropriate error message is returned.
+     *
+     * @param weatherForecastQuery The {@link Climate}, the {@link Season}, the number of days (1-90),
+     *                             an optional {@link WeatherState} for today (the forecast starts tomorrow) and an optional seed.
+     * @return A {@link WeatherForecastResult} with the seed (reuse it with the same query to reproduce the forecast),
+     *         the weather of every day with a short description of its effect, and a count of days per weather.
+     *         The error field is null on success.
+     */
+    @Tool(name = TOOL_NAME, description = "Generate a multi-day weather forecast for a climate and season, e.g. the weather for each day of a 30 day trek. Reproducible with a seed")
+    public WeatherForecastResult generateWeather(WeatherForecastQuery weatherForecastQuery) {
+
+        long start = System.nanoTime();
+
+        String argsError = validateArgs(weatherForecastQuery);
+        if (argsError != null) {
+            return failure(start, weatherForecastQuery, argsError);
+        }
+
+        WeatherModel model = getOrCompileModel();
+        if (model == null) {
+            return failure(start, weatherForecastQuery, "Internal error - Either describe the weather yourself or try again later");
+        }
+
+        long seed = weatherForecastQuery.seed() != null ? weatherForecastQuery.seed() : random.nextLong();
+        int days = weatherForecastQuery.days();
+
+        // day 0 is today, only the days after it are forecast
+        int today = weatherForecastQuery.currentWeather() != null ? weatherForecastQuery.currentWeather().ordinal() : -1;
+        byte[] chain = model.chain(weatherForecastQuery.climate(), weatherForecastQuery.season())
+                .generate(days + 1, today, new SplittableRandom(seed));
+
+        WeatherState[] states = WeatherState.values();
+        int[] counts = new int[states.length];
+        List<WeatherDay> forecast = new ArrayList<>(days);
+        for (int day = 1; day <= days; day++) {
+            WeatherState weather = states[chain[day]];
+            counts[weather.ordinal()]++;
+            forecast.add(new WeatherDay(day, weather, weather.getDescription()));
+        }
+
+        Map<WeatherState, Integer> daysByWeather = new EnumMap<>(WeatherState.class);
+        for (WeatherState weather : states) {
+            if (counts[weather.ordinal()] > 0) daysByWeather.put(weather, counts[weather.ordinal()]);
+        }
+
+        WeatherForecastResult result = new WeatherForecastResult(weatherForecastQuery, seed, forecast, daysByWeather, null);
+        toolCallLogger.success(TOOL_NAME, start,
+                () -> weatherForecastQuery.climate() + " " + weatherForecastQuery.season() + " days=" + days,
+                weatherForecastQuery, result);
+        return result;
+    }
+
+
+    private String validateArgs(WeatherForecastQuery query) {
+
+        // defensive null checks
+        if (query == null || query.climate() == null || query.season() == null) {
+            return "Weather forecast query must contain a climate and a season";
+        }
+        if (query.days() < 1 || query.days() > MAX_DAYS) {
+            return "Days must be between 1 and " + MAX_DAYS;
+        }
+        return null;
+    }
+
+
+    private WeatherModel getOrCompileModel() {
+
+        WeatherModel compiled = weatherModel;
+        if (compiled != null) return compiled;
+
+        Map<Integer, List<String>> transitionTable = csvParserService.getWeatherTransitionTable();
+        if (transitionTable == null || transitionTable.isEmpty()) {
+            log.error("Weather transition table is null or empty. Check the CSV");
+            return null; // not cached so a later call can retry
+        }
+
+        try {
+            compiled = WeatherModel.compile(transitionTable);
+        } catch (IllegalArgumentException e) {
+            log.error("Could not compile the weather transition table", e);
+            return null;
+        }
+        log.info("Compiled {} weather transition rows into alias tables", transitionTable.size());
+        weatherModel = compiled;
+        return compiled;
+    }
+
+
+    private WeatherForecastResult failure(long start, WeatherForecastQuery query, String error) {
+        toolCallLogger.failure(TOOL_NAME, start, query, error);
+        return new WeatherForecastResult(query, null, null, null, error);
+    }
+}
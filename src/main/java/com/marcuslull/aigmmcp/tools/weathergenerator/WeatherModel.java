@@ -0,0 +1,71 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every {@link WeatherChain}, indexed by climate and season ordinal, compiled from the weather transition table.
+ */
+final class WeatherModel {
+
+    private final WeatherChain[][] chains;
+
+
+    private WeatherModel(WeatherChain[][] chains) {
+        this.chains = chains;
+    }
+
+
+    WeatherChain chain(Climate climate, Season season) {
+        return chains[climate.ordinal()][season.ordinal()];
+    }
+
+
+    /**
+     * @param transitionTable rows of climate, season, from weather, then one weight per {@link WeatherState}
+     * @throws IllegalArgumentException if a row is malformed or a climate, season and weather combination is missing
+     */
+    static WeatherModel compile(Map<Integer, List<String>> transitionTable) {
+
+        int states = WeatherState.values().length;
+        double[][][][] weights = new double[Climate.values().length][Season.values().length][][];
+
+        for (List<String> row : transitionTable.values()) {
+            if (row.size() != 3 + states) {
+                throw new IllegalArgumentException("Expected " + (3 + states) + " columns in weather row " + row);
+            }
+            try {
+                Climate climate = Climate.fromString(row.get(0));
+                Season season = Season.fromString(row.get(1));
+                WeatherState from = WeatherState.fromString(row.get(2));
+
+                double[][] matrix = weights[climate.ordinal()][season.ordinal()];
+                if (matrix == null) {
+                    matrix = new double[states][];
+                    weights[climate.ordinal()][season.ordinal()] = matrix;
+                }
+                double[] rowWeights = new double[states];
+                for (int to = 0; to < states; to++) {
+                    rowWeights[to] = Double.parseDouble(row.get(3 + to));
+                }
+                matrix[from.ordinal()] = rowWeights;
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid weather row " + row, e);
+            }
+        }
+
+        WeatherChain[][] chains = new WeatherChain[Climate.values().length][Season.values().length];
+        for (Climate climate : Climate.values()) {
+            for (Season season : Season.values()) {
+                double[][] matrix = weights[climate.ordinal()][season.ordinal()];
+                for (WeatherState from : WeatherState.values()) {
+                    if (matrix == null || matrix[from.ordinal()] == null) {
+                        throw new IllegalArgumentException("No weather row for " + climate + " " + season + " " + from);
+                    }
+                }
+                chains[climate.ordinal()][season.ordinal()] = new WeatherChain(matrix);
+            }
+        }
+        return new WeatherModel(chains);
+    }
+}
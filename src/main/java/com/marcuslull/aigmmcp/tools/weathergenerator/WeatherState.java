@@ -0,0 +1,30 @@
+package com.marcuslull.aigmmcp.tools.weathergenerator;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// the order matches the weight columns of weatherTransitions.csv
+@Getter
+public enum WeatherState {
+    CLEAR("Clear skies, good visibility"),
+    CLOUDY("Overcast, dim light"),
+    FOG("Fog, visibility reduced to a few dozen feet"),
+    RAIN("Steady rain, tracks wash out and ranged attacks over long range suffer"),
+    STORM("Storm with high winds, travel is slow and open flames go out"),
+    SNOW("Snowfall, the ground becomes difficult terrain as it settles");
+
+    private final String description;
+
+    WeatherState(String description) {
+        this.description = description;
+    }
+
+    public static WeatherState fromString(String weatherString) {
+        return Arrays.stream(values())
+                .filter(w -> w.name().equals(Objects.requireNonNull(weatherString).toUpperCase()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
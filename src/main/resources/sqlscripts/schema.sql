@@ -3,5 +3,32 @@ DROP TABLE IF EXISTS srd521monstercr;
 CREATE TABLE srd521monstercr (
     id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     name VARCHAR(255),
-    cr INT
-);
\ No newline at end of file
+    cr INT,
+    -- combat stats, NULL falls back to the typical stats for the CR (csvs/monsterStatsByCr.csv)
+    ac INT,
+    hp INT,
+    attack_bonus INT,
+    damage_per_round INT
+);
+-- combatSimulator looks monsters up by name regardless of case
+CREATE INDEX srd521monstercr_lower_name ON srd521monstercr (lower(name));
+
+-- campaign state survives restarts, so these are never dropped
+CREATE TABLE IF NOT EXISTS campaign_state_change (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    campaign_id VARCHAR(255) NOT NULL,
+    seq BIGINT NOT NULL,
+    change_type VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS campaign_state_change_campaign_seq ON campaign_state_change (campaign_id, seq);
+
+CREATE TABLE IF NOT EXISTS campaign_state_snapshot (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    campaign_id VARCHAR(255) NOT NULL,
+    seq BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS campaign_state_snapshot_campaign_seq ON campaign_state_snapshot (campaign_id, seq);
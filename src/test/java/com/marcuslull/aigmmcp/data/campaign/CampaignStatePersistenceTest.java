@@ -0,0 +1,218 @@
+package com.marcuslull.aigmmcp.data.campaign;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcuslull.aigmmcp.data.structured.entities.CampaignStateChange;
+import com.marcuslull.aigmmcp.data.structured.entities.CampaignStateSnapshot;
+import com.marcuslull.aigmmcp.data.structured.repositories.CampaignStateChangeRepository;
+import com.marcuslull.aigmmcp.data.structured.repositories.CampaignStateSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CampaignStatePersistenceTest {
+
+    private static final String CAMPAIGN = "lost-mine";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CampaignStateChangeRepository changeRepository;
+    private CampaignStateSnapshotRepository snapshotRepository;
+
+
+    @BeforeEach
+    void setUp() {
+        changeRepository = mock(CampaignStateChangeRepository.class);
+        snapshotRepository = mock(CampaignStateSnapshotRepository.class);
+        when(changeRepository.findAllCampaignIds()).thenReturn(List.of());
+        when(snapshotRepository.findAllCampaignIds()).thenReturn(List.of());
+    }
+
+
+    @Test
+    void recoversFromSnapshotPlusTheChangesAfterIt() throws Exception {
+
+        CampaignStateView snapshot = new CampaignStateView(CAMPAIGN, 3, 2, true, 1, "Goblin",
+                List.of(new Combatant("Goblin", 7, 7, 12, Set.of())), List.of());
+        when(snapshotRepository.findAllCampaignIds()).thenReturn(List.of(CAMPAIGN));
+        when(snapshotRepository.findFirstByCampaignIdOrderBySeqDesc(CAMPAIGN)).thenReturn(Optional.of(
+                new CampaignStateSnapshot(1L, CAMPAIGN, 3L, objectMapper.writeValueAsString(snapshot), Instant.now())));
+        when(changeRepository.findAllByCampaignIdAndSeqGreaterThanOrderBySeq(CAMPAIGN, 3L)).thenReturn(List.of(
+                change(new CampaignEvent(CAMPAIGN, 4, CampaignEventType.HP_CHANGED, "Goblin", -2, null, null, null)),
+                change(new CampaignEvent(CAMPAIGN, 5, CampaignEventType.CONDITION_ADDED, "Goblin", null, null, null, "Prone"))));
+
+        List<CampaignState> recovered = persistence(100).recover();
+
+        assertEquals(1, recovered.size());
+        CampaignStateView view = recovered.getFirst().view();
+        assertEquals(5, view.version());
+        assertEquals(2, view.session());
+        assertEquals("Goblin", view.currentTurn());
+        assertEquals(new Combatant("Goblin", 5, 7, 12, Set.of("Prone")), view.initiativeOrder().getFirst());
+    }
+
+
+    @Test
+    void recoversFromTheWholeLogWithoutASnapshot() throws Exception {
+
+        when(changeRepository.findAllCampaignIds()).thenReturn(List.of(CAMPAIGN));
+        when(snapshotRepository.findFirstByCampaignIdOrderBySeqDesc(CAMPAIGN)).thenReturn(Optional.empty());
+        when(changeRepository.findAllByCampaignIdAndSeqGreaterThanOrderBySeq(CAMPAIGN, 0L)).thenReturn(List.of(
+                change(new CampaignEvent(CAMPAIGN, 1, CampaignEventType.SESSION_STARTED, null, 1, null, null, null)),
+                change(new CampaignEvent(CAMPAIGN, 2, CampaignEventType.TREASURE_AWARDED, "Mira", 50, null, null, "Silver locket"))));
+
+        CampaignStateView view = persistence(100).recover().getFirst().view();
+
+        assertEquals(2, view.version());
+        assertEquals(List.of(new TreasureAward("Mira", "Silver locket", 50, 1)), view.treasure());
+    }
+
+
+    @Test
+    void replayReproducesTheLiveState() throws Exception {
+
+        // everything written during a live session
+        List<CampaignStateChange> log = new ArrayList<>();
+        when(changeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<CampaignStateChange> batch = invocation.getArgument(0);
+            log.addAll(batch);
+            return batch;
+        });
+
+        CampaignStatePersistence writer = persistence(100);
+        CampaignStateStore live = new CampaignStateStore(writer);
+        live.recover();
+        live.apply(CAMPAIGN, List.of(
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.SESSION_STARTED, null, 1, null, null, null),
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.COMBATANT_ADDED, "Goblin", 7, null, 12, null),
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.COMBATANT_ADDED, "Mira", 20, 24, 15, null),
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.COMBAT_STARTED, null, null, null, null, null),
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.TURN_ADVANCED, null, null, null, null, null),
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.HP_CHANGED, "Goblin", -9, null, null, null)));
+        CampaignStateView expected = live.get(CAMPAIGN);
+        writer.flush();
+
+        when(changeRepository.findAllCampaignIds()).thenReturn(List.of(CAMPAIGN));
+        when(snapshotRepository.findFirstByCampaignIdOrderBySeqDesc(CAMPAIGN)).thenReturn(Optional.empty());
+        when(changeRepository.findAllByCampaignIdAndSeqGreaterThanOrderBySeq(CAMPAIGN, 0L)).thenReturn(log);
+
+        assertEquals(expected, persistence(100).recover().getFirst().view());
+    }
+
+
+    @Test
+    void failedRecoveryRefusesChangesUntilARetrySucceeds() {
+
+        when(changeRepository.findAllCampaignIds())
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of());
+        CampaignStatePersistence persistence = persistence(100);
+        CampaignStateStore store = new CampaignStateStore(persistence);
+        List<CampaignEvent> sessionStarted = List.of(new CampaignEvent(CAMPAIGN, 0, CampaignEventType.SESSION_STARTED, null, 1, null, null, null));
+
+        store.recover();
+        assertNotNull(store.unavailableReason());
+        assertThrows(IllegalStateException.class, () -> store.apply(CAMPAIGN, sessionStarted));
+        persistence.flush();
+        verify(changeRepository, never()).saveAll(anyList());
+
+        store.recover();
+        assertNull(store.unavailableReason());
+        assertEquals(1, store.apply(CAMPAIGN, sessionStarted).version());
+    }
+
+
+    @Test
+    void rowTheDatabaseRejectsIsDroppedAndCoveredBySnapshot() {
+
+        when(changeRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+        when(changeRepository.save(any())).thenAnswer(invocation -> {
+            CampaignStateChange change = invocation.getArgument(0);
+            if (change.seq() == 2) throw new DataIntegrityViolationException("value too long");
+            return change;
+        });
+
+        CampaignStatePersistence persistence = persistence(100);
+        CampaignStateStore store = new CampaignStateStore(persistence);
+        store.recover();
+        store.apply(CAMPAIGN, List.of(
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.SESSION_STARTED, null, 1, null, null, null),
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.TREASURE_AWARDED, null, null, null, null, "Gold"),
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.SESSION_STARTED, null, 2, null, null, null)));
+        persistence.flush();
+
+        verify(changeRepository, times(3)).save(any());
+        verify(snapshotRepository).save(argThat((CampaignStateSnapshot snapshot) -> snapshot.seq() == 3));
+    }
+
+
+    @Test
+    void outageHoldsChangesBackInOrderWithoutSnapshotting() {
+
+        List<Long> written = new ArrayList<>();
+        when(changeRepository.saveAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenAnswer(invocation -> {
+                    List<CampaignStateChange> batch = invocation.getArgument(0);
+                    batch.forEach(change -> written.add(change.seq()));
+                    return batch;
+                });
+        when(changeRepository.save(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        CampaignStatePersistence persistence = persistence(1);
+        CampaignStateStore store = new CampaignStateStore(persistence);
+        store.recover();
+        store.apply(CAMPAIGN, List.of(new CampaignEvent(CAMPAIGN, 0, CampaignEventType.SESSION_STARTED, null, 1, null, null, null)));
+        persistence.flush();
+        verify(snapshotRepository, never()).save(any());
+
+        store.apply(CAMPAIGN, List.of(new CampaignEvent(CAMPAIGN, 0, CampaignEventType.SESSION_STARTED, null, 2, null, null, null)));
+        persistence.flush();
+
+        assertEquals(List.of(1L, 2L), written);
+        verify(snapshotRepository).save(argThat((CampaignStateSnapshot snapshot) -> snapshot.seq() == 2));
+    }
+
+
+    @Test
+    void rejectedFirstChangeCreatesNoCampaign() {
+
+        CampaignStateStore store = new CampaignStateStore(persistence(100));
+        store.recover();
+
+        assertThrows(IllegalArgumentException.class, () -> store.apply(CAMPAIGN, List.of(
+                new CampaignEvent(CAMPAIGN, 0, CampaignEventType.COMBATANT_ADDED, "Goblin", 0, 0, null, null))));
+
+        assertNull(store.get(CAMPAIGN));
+        assertTrue(store.getAll().isEmpty());
+    }
+
+
+    private CampaignStatePersistence persistence(int snapshotEvery) {
+        return new CampaignStatePersistence(provider(changeRepository), provider(snapshotRepository), objectMapper, snapshotEvery, 1000);
+    }
+
+
+    private CampaignStateChange change(CampaignEvent event) throws Exception {
+        return new CampaignStateChange(event.seq(), event.campaignId(), event.seq(), event.type().name(),
+                objectMapper.writeValueAsString(event), Instant.now());
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T bean) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bean);
+        return provider;
+    }
+}
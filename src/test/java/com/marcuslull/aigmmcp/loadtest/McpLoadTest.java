@@ -0,0 +1,282 @@
+package com.marcuslull.aigmmcp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end load generator for the packaged stdio MCP server.
+ * <p>
+ * The server jar is launched with the {@code pack,loadtest} profiles so Postgres and Vertex AI are replaced
+ * by local stubs, then a weighted mix of tool calls is replayed at a fixed target rate over the real
+ * JSON-RPC stdio transport. Requests are scheduled open-loop and latency is measured from each request's
+ * intended send time, so a stalled server shows up in the percentiles instead of silently lowering the rate.
+ * <p>
+ * Everything is configured with system properties (see the {@code loadtest} profile in the pom):
+ * <ul>
+ *     <li>{@code loadtest.jar} - path to the packaged server jar</li>
+ *     <li>{@code loadtest.profiles} - Spring profiles for the server, default {@code pack,loadtest}</li>
+ *     <li>{@code loadtest.jvmArgs} - extra JVM arguments for the server, space separated</li>
+ *     <li>{@code loadtest.mix} - weighted tool mix, e.g. {@code rollDice=70,treasureGenerator=20,randomEncounterGenerator=10}</li>
+ *     <li>{@code loadtest.rate} - target calls per second</li>
+ *     <li>{@code loadtest.warmupSeconds} / {@code loadtest.durationSeconds} - unrecorded warmup, then the measured run</li>
+ *     <li>{@code loadtest.budget.p50Ms} / {@code p99Ms} / {@code p999Ms} - latency budgets, 0 disables a budget</li>
+ * </ul>
+ * The process exits with status 1 when any budget is exceeded or a call fails, so the build breaks.
+ */
+public class McpLoadTest {
+
+    private static final Pattern GC_PAUSE_PATTERN = Pattern.compile("Pause.*?(\\d+\\.\\d+)ms\\s*$");
+    private static final String[] DICE_TYPES = {"D4", "D6", "D8", "D10", "D12", "D20", "D100"};
+    private static final String[] DISPOSITIONS = {"INCIDENTAL", "USING", "PERSONAL", "STASH", "TROVE", "FORTUNE", "HOARD"};
+    private static final String[] DIFFICULTIES = {"L", "M", "H"};
+
+    private static final Map<String, BiFunction<ObjectMapper, SplittableRandom, JsonNode>> ARGUMENT_GENERATORS = Map.of(
+            "rollDice", McpLoadTest::diceRollArguments,
+            "treasureGenerator", McpLoadTest::treasureArguments,
+            "randomEncounterGenerator", McpLoadTest::encounterArguments
+    );
+
+
+    public static void main(String[] args) throws Exception {
+
+        String jar = System.getProperty("loadtest.jar", "target/AiGmMcp-0.0.1-SNAPSHOT.jar");
+        String profiles = System.getProperty("loadtest.profiles", "pack,loadtest");
+        String jvmArgs = System.getProperty("loadtest.jvmArgs", "");
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", "rollDice=70,treasureGenerator=20,randomEncounterGenerator=10"));
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        double[] budgetsMs = {
+                Double.parseDouble(System.getProperty("loadtest.budget.p50Ms", "0")),
+                Double.parseDouble(System.getProperty("loadtest.budget.p99Ms", "0")),
+                Double.parseDouble(System.getProperty("loadtest.budget.p999Ms", "0"))
+        };
+
+        Path outputDir = Path.of(System.getProperty("loadtest.outputDir", "target/loadtest"));
+        Files.createDirectories(outputDir);
+        Path gcLog = outputDir.resolve("server-gc.log");
+        Files.deleteIfExists(gcLog);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!jvmArgs.isBlank()) command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        command.add("-Xlog:gc:file=" + gcLog.toAbsolutePath());
+        command.add("-jar");
+        command.add(jar);
+        command.add("--spring.profiles.active=" + profiles);
+
+        System.out.printf("Launching: %s%n", String.join(" ", command));
+        System.out.printf("Mix %s at %d calls/s, %ds warmup + %ds measured%n", mix, rate, warmupSeconds, durationSeconds);
+
+        boolean failed;
+        try (McpStdioClient client = McpStdioClient.launch(command, outputDir.resolve("server-stderr.log").toFile())) {
+            client.initialize(TimeUnit.MINUTES.toMillis(2));
+            failed = run(client, mix, rate, warmupSeconds, durationSeconds, budgetsMs);
+        }
+        reportGcPauses(gcLog.toFile());
+
+        if (failed) {
+            System.out.println("LOAD TEST FAILED");
+            System.exit(1);
+        }
+        System.out.println("LOAD TEST PASSED");
+    }
+
+
+    private static boolean run(McpStdioClient client, Map<String, Integer> mix, int rate, int warmupSeconds,
+                               int durationSeconds, double[] budgetsMs) throws Exception {
+
+        String[] tools = mix.keySet().toArray(String[]::new);
+        int[] cumulativeWeights = new int[tools.length];
+        int weightTotal = 0;
+        for (int i = 0; i < tools.length; i++) {
+            weightTotal += mix.get(tools[i]);
+            cumulativeWeights[i] = weightTotal;
+        }
+
+        int warmupCalls = warmupSeconds * rate;
+        int measuredCalls = durationSeconds * rate;
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        long[] latencies = new long[measuredCalls];
+        int[] toolOfCall = new int[measuredCalls];
+        AtomicInteger errors = new AtomicInteger();
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[warmupCalls + measuredCalls];
+
+        SplittableRandom random = new SplittableRandom(42);
+        ObjectMapper objectMapper = client.objectMapper();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measuredStart = start + warmupCalls * periodNanos;
+
+        for (int i = 0; i < calls.length; i++) {
+
+            int pick = random.nextInt(weightTotal);
+            int tool = 0;
+            while (pick >= cumulativeWeights[tool]) tool++;
+            JsonNode arguments = ARGUMENT_GENERATORS.get(tools[tool]).apply(objectMapper, random);
+
+            long intendedStart = start + i * periodNanos;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+            int slot = i - warmupCalls;
+            int toolIndex = tool;
+            calls[i] = client.callTool(tools[tool], arguments).whenComplete((response, throwable) -> {
+                long latency = System.nanoTime() - intendedStart;
+                boolean isError = throwable != null || response.has("error")
+                        || response.path("result").path("isError").asBoolean(false);
+                if (isError) errors.incrementAndGet();
+                if (slot >= 0) {
+                    latencies[slot] = latency;
+                    toolOfCall[slot] = toolIndex;
+                }
+            });
+        }
+
+        CompletableFuture.allOf(calls).exceptionally(t -> null).get(2, TimeUnit.MINUTES);
+        long measuredEnd = System.nanoTime();
+
+        System.out.println();
+        System.out.printf("%-26s %8s %10s %10s %10s %10s%n", "tool", "calls", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (int t = 0; t < tools.length; t++) {
+            int toolIndex = t;
+            long[] toolLatencies = IntStream.range(0, measuredCalls)
+                    .filter(i -> toolOfCall[i] == toolIndex)
+                    .mapToLong(i -> latencies[i])
+                    .toArray();
+            printRow(tools[t], toolLatencies);
+        }
+        double[] overall = printRow("all", latencies.clone());
+
+        double throughput = measuredCalls / ((measuredEnd - measuredStart) / 1e9);
+        System.out.printf("%nThroughput: %.1f calls/s (target %d), errors: %d%n", throughput, rate, errors.get());
+
+        boolean failed = errors.get() > 0;
+        String[] budgetNames = {"p50", "p99", "p99.9"};
+        for (int i = 0; i < budgetsMs.length; i++) {
+            if (budgetsMs[i] > 0 && overall[i] > budgetsMs[i]) {
+                System.out.printf("Budget exceeded: %s %.3f ms > %.3f ms%n", budgetNames[i], overall[i], budgetsMs[i]);
+                failed = true;
+            }
+        }
+        return failed;
+    }
+
+
+    private static double[] printRow(String name, long[] latencies) {
+
+        if (latencies.length == 0) {
+            System.out.printf("%-26s %8d%n", name, 0);
+            return new double[]{0, 0, 0};
+        }
+
+        Arrays.sort(latencies);
+        double[] percentiles = {
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 0.999)
+        };
+        System.out.printf("%-26s %8d %10.3f %10.3f %10.3f %10.3f%n", name, latencies.length,
+                percentiles[0], percentiles[1], percentiles[2], latencies[latencies.length - 1] / 1e6);
+        return percentiles;
+    }
+
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+
+    private static void reportGcPauses(File gcLog) throws IOException {
+
+        if (!gcLog.exists()) {
+            System.out.println("No GC log was written by the server");
+            return;
+        }
+
+        int pauses = 0;
+        double totalMs = 0;
+        double maxMs = 0;
+        for (String line : Files.readAllLines(gcLog.toPath())) {
+            Matcher matcher = GC_PAUSE_PATTERN.matcher(line);
+            if (!matcher.find()) continue;
+            double pauseMs = Double.parseDouble(matcher.group(1));
+            pauses++;
+            totalMs += pauseMs;
+            maxMs = Math.max(maxMs, pauseMs);
+        }
+
+        System.out.printf("Server GC pauses (whole run): %d, total %.3f ms, max %.3f ms%n", pauses, totalMs, maxMs);
+    }
+
+
+    private static Map<String, Integer> parseMix(String mixString) {
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : mixString.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || !ARGUMENT_GENERATORS.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "'. Known tools: " + ARGUMENT_GENERATORS.keySet());
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) mix.put(parts[0], weight);
+        }
+
+        if (mix.isEmpty()) throw new IllegalArgumentException("The tool mix must contain at least one positive weight");
+        return mix;
+    }
+
+
+    // the argument names match the tool method parameter names, that is how Spring AI builds the input schema
+    private static JsonNode diceRollArguments(ObjectMapper objectMapper, SplittableRandom random) {
+        ObjectNode arguments = objectMapper.createObjectNode();
+        arguments.putObject("diceRoll")
+                .put("diceType", DICE_TYPES[random.nextInt(DICE_TYPES.length)])
+                .put("quantity", random.nextInt(1, 11));
+        return arguments;
+    }
+
+
+    private static JsonNode treasureArguments(ObjectMapper objectMapper, SplittableRandom random) {
+        ObjectNode arguments = objectMapper.createObjectNode();
+        arguments.putObject("treasureGeneratorQuery")
+                .put("cr", random.nextInt(1, 31))
+                .put("disposition", DISPOSITIONS[random.nextInt(DISPOSITIONS.length)])
+                .put("resolve", random.nextBoolean());
+        return arguments;
+    }
+
+
+    private static JsonNode encounterArguments(ObjectMapper objectMapper, SplittableRandom random) {
+        ObjectNode arguments = objectMapper.createObjectNode();
+        ObjectNode query = arguments.putObject("encounterGenerationQuery");
+        ArrayNode pcs = query.putArray("pcs");
+        int partySize = random.nextInt(3, 6);
+        int level = random.nextInt(1, 21);
+        for (int i = 0; i < partySize; i++) pcs.add(level);
+        query.put("difficulty", DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]);
+        return arguments;
+    }
+}
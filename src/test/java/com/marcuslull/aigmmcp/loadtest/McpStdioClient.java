@@ -0,0 +1,177 @@
+package com.marcuslull.aigmmcp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal MCP client that launches the packaged server as a child process and speaks newline
+ * delimited JSON-RPC to it over stdio, exactly like a real MCP host does.
+ */
+public class McpStdioClient implements AutoCloseable {
+
+    private static final String PROTOCOL_VERSION = "2024-11-05";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private final Process process;
+    private final BufferedWriter writer;
+    private final Thread readerThread;
+
+
+    private McpStdioClient(Process process) {
+        this.process = process;
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.readerThread = Thread.ofPlatform().daemon().name("mcp-stdio-reader").start(this::readResponses);
+    }
+
+
+    /**
+     * Starts the server process. Anything the server writes to stderr is appended to {@code stderrLog}
+     * so it can't interleave with the JSON-RPC stream.
+     */
+    public static McpStdioClient launch(List<String> command, File stderrLog) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.appendTo(stderrLog))
+                .start();
+        return new McpStdioClient(process);
+    }
+
+
+    /**
+     * Performs the MCP handshake: {@code initialize} followed by the {@code notifications/initialized} notification.
+     */
+    public JsonNode initialize(long timeoutMillis) throws Exception {
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("protocolVersion", PROTOCOL_VERSION);
+        params.putObject("capabilities");
+        params.putObject("clientInfo").put("name", "aigm-load-test").put("version", "0.0.1");
+
+        JsonNode result = request("initialize", params).get(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        ObjectNode initialized = objectMapper.createObjectNode();
+        initialized.put("jsonrpc", "2.0");
+        initialized.put("method", "notifications/initialized");
+        send(initialized);
+
+        return result;
+    }
+
+
+    /**
+     * Calls a tool. The future completes with the full JSON-RPC response, including any {@code error} member.
+     */
+    public CompletableFuture<JsonNode> callTool(String toolName, JsonNode arguments) throws IOException {
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("name", toolName);
+        params.set("arguments", arguments);
+        return request("tools/call", params);
+    }
+
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+
+    public long pid() {
+        return process.pid();
+    }
+
+
+    private CompletableFuture<JsonNode> request(String method, JsonNode params) throws IOException {
+        long id = nextId.getAndIncrement();
+        CompletableFuture<JsonNode> future = new CompletableFuture<>();
+        pending.put(id, future);
+
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("jsonrpc", "2.0");
+        message.put("id", id);
+        message.put("method", method);
+        message.set("params", params);
+        send(message);
+
+        return future;
+    }
+
+
+    private void send(JsonNode message) throws IOException {
+        String line = objectMapper.writeValueAsString(message);
+        synchronized (writer) {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        }
+    }
+
+
+    private void readResponses() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+
+                JsonNode message = objectMapper.readTree(line);
+                JsonNode id = message.get("id");
+                // server initiated requests and notifications carry no id we are waiting on
+                if (id == null || !message.has("result") && !message.has("error")) continue;
+
+                CompletableFuture<JsonNode> future = pending.remove(id.asLong());
+                if (future != null) future.complete(message);
+            }
+        } catch (IOException e) {
+            pending.values().forEach(f -> f.completeExceptionally(e));
+            return;
+        }
+        IOException closed = new IOException("MCP server closed stdout");
+        pending.values().forEach(f -> f.completeExceptionally(closed));
+    }
+
+
+    /**
+     * Closes the server's stdin the way an MCP host ends a session and waits for the process to exit.
+     * A server that is still running after the timeout is sent SIGTERM, which also runs the normal JVM exit path.
+     *
+     * @return the exit code of the server process
+     */
+    public int shutdown(long timeoutMillis) throws InterruptedException {
+        try {
+            synchronized (writer) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            // the server is already gone
+        }
+        if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            process.destroy();
+        }
+        close();
+        return process.waitFor();
+    }
+
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        readerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
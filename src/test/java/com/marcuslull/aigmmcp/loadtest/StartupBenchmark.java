@@ -0,0 +1,145 @@
+package com.marcuslull.aigmmcp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start benchmark for the packaged stdio MCP server.
+ * <p>
+ * Every run launches a fresh server process the way an MCP host does, performs the {@code initialize} handshake and
+ * makes a single {@code rollDice} call. The clock starts just before the process is spawned, so the numbers are
+ * what a user waits for: JVM boot, context refresh and the first tool response. Two modes are compared:
+ * <ul>
+ *     <li>plain - the fat jar, as shipped</li>
+ *     <li>optimised - the extracted jar from the {@code startup} profile with its CDS archive and Spring AOT enabled</li>
+ * </ul>
+ * Configured with system properties (see the {@code startup} profile in the pom):
+ * <ul>
+ *     <li>{@code startup.plainJar} - path to the fat jar</li>
+ *     <li>{@code startup.optimizedJar} - path to the extracted jar the archive was trained on</li>
+ *     <li>{@code startup.archive} - the CDS archive written by the training run</li>
+ *     <li>{@code startup.profiles} - Spring profiles, must be the ones AOT processing ran with</li>
+ *     <li>{@code startup.runs} - measured launches per mode, after one unmeasured launch</li>
+ *     <li>{@code startup.budget.firstToolMs} - median budget for the optimised mode, 0 disables it</li>
+ * </ul>
+ * The process exits with status 1 when the budget is exceeded or a launch fails, so the build breaks.
+ */
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+
+    public static void main(String[] args) throws Exception {
+
+        String plainJar = System.getProperty("startup.plainJar", "target/AiGmMcp-0.0.1-SNAPSHOT.jar");
+        String optimizedJar = System.getProperty("startup.optimizedJar", "target/startup/app/AiGmMcp-0.0.1-SNAPSHOT.jar");
+        Path archive = Path.of(System.getProperty("startup.archive", "target/startup/application.jsa"));
+        String profiles = System.getProperty("startup.profiles", "pack");
+        int runs = Math.max(1, Integer.getInteger("startup.runs", 5));
+        double budgetMs = Double.parseDouble(System.getProperty("startup.budget.firstToolMs", "0"));
+
+        Path outputDir = Path.of(System.getProperty("startup.outputDir", "target/startup"));
+        Files.createDirectories(outputDir);
+
+        if (!Files.exists(archive)) {
+            System.out.printf("No CDS archive at %s - run the training step first (mvn -Pstartup package)%n", archive);
+            System.exit(1);
+        }
+        System.out.printf("Profiles %s, %d runs per mode, CDS archive %s (%d KB)%n",
+                profiles, runs, archive, Files.size(archive) / 1024);
+
+        List<String> plain = command(List.of(), plainJar, profiles);
+        List<String> optimized = command(List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Dspring.aot.enabled=true"),
+                optimizedJar, profiles);
+
+        long[][] plainResults = measure("plain", plain, runs, outputDir);
+        long[][] optimizedResults = measure("optimised", optimized, runs, outputDir);
+
+        System.out.println();
+        System.out.printf("%-12s %14s %14s %14s %14s%n", "mode", "init p50 ms", "tool p50 ms", "tool min ms", "tool max ms");
+        double plainMedian = printRow("plain", plainResults);
+        double optimizedMedian = printRow("optimised", optimizedResults);
+        System.out.printf("%nTime to first tool response: %.0f ms -> %.0f ms (%.2fx)%n",
+                plainMedian, optimizedMedian, plainMedian / optimizedMedian);
+
+        if (budgetMs > 0 && optimizedMedian > budgetMs) {
+            System.out.printf("Budget exceeded: %.0f ms > %.0f ms%n", optimizedMedian, budgetMs);
+            System.out.println("STARTUP BENCHMARK FAILED");
+            System.exit(1);
+        }
+        System.out.println("STARTUP BENCHMARK PASSED");
+    }
+
+
+    private static List<String> command(List<String> jvmArgs, String jar, String profiles) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        // CDS only maps the archive when the class path matches the training run, so always use absolute paths
+        command.add(Path.of(jar).toAbsolutePath().toString());
+        command.add("--spring.profiles.active=" + profiles);
+        return command;
+    }
+
+
+    /**
+     * @return {initialize nanos, first tool response nanos} per measured run
+     */
+    private static long[][] measure(String mode, List<String> command, int runs, Path outputDir) throws Exception {
+
+        System.out.printf("%nLaunching (%s): %s%n", mode, String.join(" ", command));
+        Path stderrLog = outputDir.resolve("startup-" + mode + "-stderr.log");
+        Files.deleteIfExists(stderrLog);
+
+        // the first launch only warms the OS file cache
+        launchOnce(command, stderrLog);
+
+        long[][] results = new long[runs][];
+        for (int run = 0; run < runs; run++) {
+            results[run] = launchOnce(command, stderrLog);
+            System.out.printf("  run %d: initialize %.0f ms, first tool response %.0f ms%n",
+                    run + 1, results[run][0] / 1e6, results[run][1] / 1e6);
+        }
+        return results;
+    }
+
+
+    private static long[] launchOnce(List<String> command, Path stderrLog) throws Exception {
+
+        long start = System.nanoTime();
+        try (McpStdioClient client = McpStdioClient.launch(command, stderrLog.toFile())) {
+            client.initialize(TIMEOUT_MILLIS);
+            long initialized = System.nanoTime() - start;
+
+            ObjectNode arguments = client.objectMapper().createObjectNode();
+            arguments.putObject("diceRoll").put("diceType", "D20").put("quantity", 1);
+            JsonNode response = client.callTool("rollDice", arguments).get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            long firstTool = System.nanoTime() - start;
+
+            if (response.has("error") || response.path("result").path("isError").asBoolean(false)) {
+                throw new IOException("rollDice failed: " + response);
+            }
+            return new long[]{initialized, firstTool};
+        }
+    }
+
+
+    private static double printRow(String mode, long[][] results) {
+
+        long[] initialize = Arrays.stream(results).mapToLong(r -> r[0]).sorted().toArray();
+        long[] firstTool = Arrays.stream(results).mapToLong(r -> r[1]).sorted().toArray();
+        double median = firstTool[firstTool.length / 2] / 1e6;
+        System.out.printf("%-12s %14.0f %14.0f %14.0f %14.0f%n", mode, initialize[initialize.length / 2] / 1e6,
+                median, firstTool[0] / 1e6, firstTool[firstTool.length - 1] / 1e6);
+        return median;
+    }
+}
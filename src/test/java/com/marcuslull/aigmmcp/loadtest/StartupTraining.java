@@ -0,0 +1,107 @@
+package com.marcuslull.aigmmcp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CDS training run for the {@code startup} profile.
+ * <p>
+ * Stopping the context right after refresh would leave out everything a real session loads afterwards: the stdio
+ * transport, the {@code initialize} handshake, tool schema generation, JSON (de)serialisation of every tool record
+ * and the tool code itself. So the training run is driven like a real MCP session instead: the extracted jar is
+ * launched with {@code -XX:ArchiveClassesAtExit}, initialized, every tool is called once and stdin is closed,
+ * after which the JVM exits normally and writes the archive.
+ * <p>
+ * Configured with system properties (see the {@code startup} profile in the pom):
+ * <ul>
+ *     <li>{@code startup.optimizedJar} - path to the extracted jar, the benchmark must use the same path</li>
+ *     <li>{@code startup.archive} - the CDS archive to write</li>
+ *     <li>{@code startup.profiles} - Spring profiles, must be the ones AOT processing ran with</li>
+ * </ul>
+ * The process exits with status 1 when the server can't be initialized or no archive was written.
+ */
+public class StartupTraining {
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    // one call per tool, same arguments as the *Example.json files next to each tool
+    private static final Map<String, String> TOOL_CALLS = new LinkedHashMap<>();
+
+    static {
+        TOOL_CALLS.put("rollDice", """
+                {"diceRoll": {"diceType": "D10", "quantity": 5}}""");
+        TOOL_CALLS.put("treasureGenerator", """
+                {"treasureGeneratorQuery": {"cr": 12, "disposition": "PERSONAL", "resolve": true}}""");
+        TOOL_CALLS.put("treasureHoardGenerator", """
+                {"treasureHoardQuery": {"treasures": [{"cr": 4, "disposition": "PERSONAL"}, {"cr": 7, "disposition": "HOARD"}]}}""");
+        TOOL_CALLS.put("randomEncounterGenerator", """
+                {"encounterGenerationQuery": {"pcs": [4, 4, 4], "difficulty": "M"}}""");
+        TOOL_CALLS.put("monsterSearch", """
+                {"monsterSearchQuery": {"name": "ancient blak dragon", "minCr": 15, "maxCr": 30, "limit": 5}}""");
+        TOOL_CALLS.put("combatSimulator", """
+                {"combatSimulationQuery": {"party": [{"level": 4}, {"level": 4, "ac": 18, "hp": 38}, {"level": 4}],
+                 "monsters": ["Bugbear Warrior", "Black Pudding"], "simulations": 1000, "seed": 42}}""");
+        TOOL_CALLS.put("weatherGenerator", """
+                {"weatherForecastQuery": {"climate": "TEMPERATE", "season": "AUTUMN", "days": 30, "currentWeather": "RAIN", "seed": 42}}""");
+        // both campaign calls are refused - the campaign doesn't exist and its first change has no HP, so it is never
+        // created - which loads the campaign classes without writing anything to the user's database
+        TOOL_CALLS.put("getCampaignState", """
+                {"campaignStateQuery": {"campaignId": "startup-training"}}""");
+        TOOL_CALLS.put("updateCampaignState", """
+                {"campaignUpdateQuery": {"campaignId": "startup-training", "changes": [
+                 {"type": "COMBATANT_ADDED", "target": "Goblin 1", "amount": 0, "maxHp": 0, "initiative": 14}]}}""");
+    }
+
+
+    public static void main(String[] args) throws Exception {
+
+        String optimizedJar = System.getProperty("startup.optimizedJar", "target/startup/app/AiGmMcp-0.0.1-SNAPSHOT.jar");
+        Path archive = Path.of(System.getProperty("startup.archive", "target/startup/application.jsa")).toAbsolutePath();
+        String profiles = System.getProperty("startup.profiles", "pack");
+
+        Files.deleteIfExists(archive);
+        Path stderrLog = archive.resolveSibling("startup-training-stderr.log");
+        Files.deleteIfExists(stderrLog);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-XX:ArchiveClassesAtExit=" + archive);
+        command.add("-Dspring.aot.enabled=true");
+        command.add("-jar");
+        // CDS only maps the archive when the class path matches the training run, so always use absolute paths
+        command.add(Path.of(optimizedJar).toAbsolutePath().toString());
+        command.add("--spring.profiles.active=" + profiles);
+        System.out.printf("Training (%s): %s%n", profiles, String.join(" ", command));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        int exitCode;
+        try (McpStdioClient client = McpStdioClient.launch(command, stderrLog.toFile())) {
+            client.initialize(TIMEOUT_MILLIS);
+
+            for (Map.Entry<String, String> call : TOOL_CALLS.entrySet()) {
+                JsonNode response = client.callTool(call.getKey(), objectMapper.readTree(call.getValue()))
+                        .get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                // a tool error still loads the tool's classes, so it is reported but not fatal
+                boolean failed = response.has("error") || response.path("result").path("isError").asBoolean(false);
+                System.out.printf("  %-26s %s%n", call.getKey(), failed ? "error " + response : "ok");
+            }
+
+            // end the session like an MCP host does, the archive is written on the JVM's way out
+            exitCode = client.shutdown(TIMEOUT_MILLIS);
+        }
+
+        if (!Files.exists(archive)) {
+            System.out.printf("Server exited with %d without writing %s, see %s%n", exitCode, archive, stderrLog);
+            System.exit(1);
+        }
+        System.out.printf("CDS archive %s (%d KB)%n", archive, Files.size(archive) / 1024);
+    }
+}
@@ -0,0 +1,176 @@
+package com.marcuslull.aigmmcp.tools.treasuregenerator;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreasureTemplateCompilerTest {
+
+    private static final Pattern DICE = Pattern.compile("\\d+d\\d+");
+
+    // "CR/disposition  terms", options joined by OR, segments by |, chance gated segments prefixed with the chance
+    private static final String EXPECTED = """
+            1/1  1d10 cp | 'a mundane personal trinket'
+            1/2  'Standard gear' | 2d20 sp + 'a pouch'
+            1/3  'Standard gear' | 3d10 gp + 'pouch' | 25%: 1 x Common Potion
+            1/4  1d100 sp + 2d20 gp | 1d4 x non-valuable personal items | 1 x Common Potion or Scroll
+            1/5  2d100 sp + 1d100 gp | 1d4 x minor gems @10gp | 1 x Uncommon Potion or Scroll
+            1/6  5d100 gp | 1d4 x gems @25gp | 1 x Uncommon Wondrous Item Weapon or Armor
+            1/7  1d4x100 gp | 1d8 x gems @25gp | 1 x Uncommon permanent magic item | 1d4 x Common/Uncommon Potions or Scrolls
+            4/1  'Worn gear eg rusty weapon' | 2d10 sp + 'a pouch'
+            4/2  'Good quality non-magical gear' | 4d10 gp + 'pouch'
+            4/3  1 x silver locket @15gp + 'Gear' | 5d10 gp + 'purse' | 1 x Common Potion
+            4/4  2d100 sp + 1d100 gp | 1d6 x minor gems @10gp | 1d4 x Common Potions or Scrolls
+            4/5  1d8x100 gp | 1d6 x gems @25gp | 1 x Uncommon Weapon Armor or Wondrous Item
+            4/6  2d6x100 gp | 2d4 x gems @50gp | 1 x Rare Potion Scroll or Wondrous Item
+            4/7  3d8x100 gp | 2d8 x gems/art @50gp | 1 x Rare Weapon Armor or Wondrous Item | 1d4 x Uncommon Potions or Scrolls
+            7/1  1 x gem @25gp | 'damaged adventurer's pack'
+            7/2  'Fine non-magical gear' | 3d20 gp + 'pouch'
+            7/3  1 x non-magical heirloom @50gp + 'Gear' | 4d20 gp + 'purse' | 1 x Uncommon Potion
+            7/4  1d4x100 gp | 2d6 x gems @25gp | 1 x Uncommon permanent magic item
+            7/5  2d8x100 gp | 2d6 x art objects @50gp | 1 x Uncommon permanent magic item | 1d4 x Uncommon Potions or Scrolls
+            7/6  1d6x1000 gp | 2d10 x gems @75gp | 1 x Rare Wand Rod Ring or Wondrous Item
+            7/7  2d6x1000 gp | 3d8 x gems/art @100gp | 1 x Rare permanent magic item | 1d6 x Uncommon/Rare Potions or Scrolls
+            10/1  'A forgotten Common magic item' | 1d100 sp + 'a pouch'
+            10/2  'Adamantine or Mithral ammunition x10' | 5d20 gp + 'pouch'
+            10/3  1 x Uncommon Weapon or Shield | 6d20 gp + 'lockbox'
+            10/4  2d6x100 gp | 3d8 x gems @50gp | 1d4 x Uncommon Potions or Scrolls | 50%: 1 x Uncommon permanent item
+            10/5  3d6x100 gp | 2d10 x art objects @100gp | 1 x Rare Weapon Armor or Wondrous Item
+            10/6  2d8x1000 gp | 4d8 x gems/art @150gp | 1 x Rare permanent magic item | 1d4 x Rare Potions or Scrolls
+            10/7  3d6x1000 gp | 1d4x100 pp | 2d10 x valuable gems @250gp | 1 x Very Rare Weapon or Armor OR 2 x Rare permanent items
+            13/1  1 x Rare consumable eg Potion Scroll
+            13/2  1 x Uncommon Weapon + 1 x Uncommon Shield or Armor | 3d100 gp + 'purse'
+            13/3  1 x Rare Weapon or Armor | 1 x coffer with jewelry @250gp | 4d100 gp
+            13/4  1d8x100 gp | 2d12 x gems @75gp | 1 x Rare permanent item
+            13/5  2d6x1000 gp | 3d10 x art objects @150gp | 1 x Rare permanent item | 1d4 x Rare Potions or Scrolls
+            13/6  1d10x1000 gp | 4d6 x gems/art @250gp | 1 x Very Rare Wand Rod Staff or Ring
+            13/7  2d6x1000 gp | 3d10 x valuable gems/art @500gp | 1 x Very Rare permanent item | 1d6 x Rare Potions or Scrolls
+            16/1  1 x Very Rare consumable eg Potion Scroll
+            16/2  1 x Rare Weapon + 1 x Uncommon Armor | 4d100 gp + 'pouch'
+            16/3  1 x Rare Weapon + 1 x Rare Armor | 8d100 gp + 1 x jewelry @500gp + 'small chest'
+            16/4  2d8x1000 gp | 4d8 x gems @150gp | 1 x Rare permanent item | 1d4 x Rare consumables
+            16/5  3d8x1000 gp | 4d10 x art objects @250gp | 1 x Very Rare Wondrous Item or Weapon
+            16/6  2d6x1000 gp | 1d4x100 pp | 2d12 x valuable art/gems @500gp | 1 x Very Rare permanent item | 1d4 x Very Rare Potions or Scrolls
+            16/7  3d8x1000 gp | 2d8x100 pp | 4d8 x exquisite gems/art @750gp | 1 x Legendary Weapon Armor or Wondrous Item
+            19/1  'A dormant magic item that requires a quest to awaken Rare'
+            19/2  1 x Rare Weapon + 1 x Rare Armor | 1d4x1000 gp + 'in a secure bag'
+            19/3  1 x Very Rare Weapon or Armor | 'a deed to a small fortified tower' | 2d4x1000 gp
+            19/4  1d12x1000 gp | 3d12 x gems @250gp | 1 x Very Rare permanent item
+            19/5  2d10x1000 gp | 2d20 x priceless art objects @500gp | 1 x Very Rare permanent item | 1d6 x Very Rare Potions or Scrolls
+            19/6  1d8x1000 gp | 3d6x100 pp | 3d10 x masterpieces @1000gp | 2 x Very Rare permanent items
+            19/7  1d10x1000 gp | 1d12x100 pp | 2d12 x legendary gems/art @2500gp | 1 x Legendary permanent item
+            22/1  'A minor sentient magic item Rare'
+            22/2  1 x Very Rare Weapon + 1 x Rare Armor | 2d6x100 pp + 'a coffer'
+            22/3  1 x Very Rare Weapon + 1 x Very Rare Armor | 'a map to a hidden treasure trove' | 3d6x100 pp
+            22/4  2d10x1000 gp | 4d10 x gems @500gp | 1 x Very Rare permanent item | 1d4 x Very Rare consumables
+            22/5  3d10x1000 gp | 3d12 x art objects @750gp | 2 x Very Rare permanent items
+            22/6  2d6x1000 gp | 2d8x100 pp | 4d8 x masterpieces @1500gp | 1 x Legendary Wondrous Item Staff or Rod
+            22/7  3d8x1000 gp | 4d6x100 pp | 3d10 x legendary items/artifacts @5000gp | 1 x Legendary permanent item | 1d4 x Very Rare/Legendary consumables
+            25/1  'The key to a demiplane' | 1 x Very Rare item that is broken and needs repairing
+            25/2  1 x Very Rare Weapon + 1 x Very Rare Armor | 4d6x100 pp
+            25/3  1 x Legendary Weapon or Armor | 'a title of nobility' | 5d6x100 pp
+            25/4  3d10x1000 gp | 4d12 x gems @750gp | 2 x Very Rare permanent items
+            25/5  4d10x1000 gp | 4d12 x historical artifacts @1000gp | 1 x Legendary permanent item
+            25/6  3d6x1000 gp | 3d10x100 pp | 3d12 x flawless gems @2500gp | 1 x Legendary permanent item | 1d4 x Very Rare/Legendary consumables
+            25/7  'A literal pile of gold and platinum' | 2 x Legendary permanent items
+            28/1  'A piece of a disassembled Legendary item'
+            28/2  1 x Legendary Weapon | 1d10x1000 pp + 'a payment from a powerful entity'
+            28/3  1 x Artifact minor property OR 'a unique epic boon' | 2d10x1000 pp
+            28/4  5d10x1000 gp | 5d12 x flawless gems @1000gp | 1 x Legendary permanent item + 1 x Very Rare permanent item
+            28/5  6d10x1000 gp | 5d20 x priceless historical artifacts @2500gp | 2 x Legendary permanent items
+            28/6  'The treasury of a small kingdom' | 2 x Legendary permanent items + 1d6 x Very Rare consumables
+            28/7  'Wealth beyond measure' | 'a demiplane filled with riches' | 1 x Artifact OR 3 x Legendary Items
+            """;
+
+
+    @Test
+    void compilesEveryCellOfTheTreasureTable() throws IOException {
+
+        Map<String, String> expected = EXPECTED.lines()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.toMap(line -> line.substring(0, line.indexOf("  ")), line -> line.substring(line.indexOf("  ") + 2)));
+
+        List<String> rows = treasureTableRows();
+        int cells = 0;
+        for (String row : rows) {
+            String[] columns = row.split(",");
+            for (int disposition = 1; disposition < columns.length; disposition++) {
+                String key = columns[0] + "/" + disposition;
+                assertEquals(expected.get(key), describe(TreasureTemplateCompiler.compile(columns[disposition])), key);
+                cells++;
+            }
+        }
+        assertEquals(expected.size(), cells);
+    }
+
+
+    @Test
+    void noDiceExpressionIsLeftInNotesOrItemNames() throws IOException {
+
+        for (String row : treasureTableRows()) {
+            String[] columns = row.split(",");
+            for (int disposition = 1; disposition < columns.length; disposition++) {
+                for (TreasureTemplate.Segment segment : TreasureTemplateCompiler.compile(columns[disposition]).segments()) {
+                    for (TreasureTemplate.Option option : segment.options()) {
+                        option.notes().forEach(note -> assertFalse(DICE.matcher(note).find(), note));
+                        option.items().forEach(item -> assertFalse(DICE.matcher(item.name()).find(), item.name()));
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void orChoicesAreRolledAsOneBranch() {
+
+        TreasureTemplate template = TreasureTemplateCompiler.compile("1 Artifact OR 3 Legendary Items");
+
+        assertEquals(1, template.segments().size());
+        assertEquals(2, template.segments().getFirst().options().size());
+    }
+
+
+    private List<String> treasureTableRows() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/csvs/treasureTable.csv")) {
+            assertNotNull(in);
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            return lines.subList(1, lines.size());
+        }
+    }
+
+
+    private static String describe(TreasureTemplate template) {
+
+        List<String> segments = new ArrayList<>();
+        for (TreasureTemplate.Segment segment : template.segments()) {
+            List<String> options = new ArrayList<>();
+            for (TreasureTemplate.Option option : segment.options()) {
+                List<String> terms = new ArrayList<>();
+                option.coins().forEach(coin -> terms.add(dice(coin.amount()) + " " + coin.currency().name().toLowerCase()));
+                option.items().forEach(item -> terms.add(dice(item.quantity()) + " x " + item.name()
+                        + (item.unitValueGp() != null ? " @" + item.unitValueGp() + "gp" : "")));
+                option.notes().forEach(note -> terms.add("'" + note + "'"));
+                options.add(String.join(" + ", terms));
+            }
+            segments.add((segment.chancePercent() < 100 ? segment.chancePercent() + "%: " : "") + String.join(" OR ", options));
+        }
+        return String.join(" | ", segments);
+    }
+
+
+    private static String dice(TreasureTemplate.Dice dice) {
+        if (dice.sides() == 0) return String.valueOf(dice.count() * dice.multiplier());
+        return dice.count() + "d" + dice.sides() + (dice.multiplier() > 1 ? "x" + dice.multiplier() : "");
+    }
+}